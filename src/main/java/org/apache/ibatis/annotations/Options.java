@@ -138,6 +138,15 @@ public @interface Options {
    */
   String resultSets() default "";
 
+  /**
+   * Returns the maximum number of rows inserted by one multi-row {@code INSERT ... VALUES} statement when this
+   * single-row insert is called with a collection or an array.
+   *
+   * @return the bulk size; 0 (the default) disables bulk inserts
+   * @since 3.5.6
+   */
+  int bulkSize() default 0;
+
   /**
    * @return A database id that correspond this options
    * @since 3.5.5
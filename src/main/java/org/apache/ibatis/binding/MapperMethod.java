@@ -23,20 +23,26 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.ibatis.annotations.Flush;
 import org.apache.ibatis.annotations.MapKey;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.TooManyResultsException;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.ParamNameResolver;
 import org.apache.ibatis.reflection.TypeParameterResolver;
+import org.apache.ibatis.session.ColumnarResult;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ParallelQueries;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
 
 /**
  * @author Clinton Begin
@@ -52,9 +58,53 @@ public class MapperMethod {
   public MapperMethod(Class<?> mapperInterface, Method method, Configuration config) {
     this.command = new SqlCommand(config, mapperInterface, method);
     this.method = new MethodSignature(config, mapperInterface, method);
+    if (this.method.returnsFuture()) {
+      validateFutureMethod();
+    }
+  }
+
+  /**
+   * A future runs on its own session, outside the transaction of the calling session, and that session is closed
+   * once the future completes. Only queries returning their whole result can run that way.
+   */
+  private void validateFutureMethod() {
+    if (command.getType() != SqlCommandType.SELECT) {
+      throw new BindingException("Mapper method '" + command.getName()
+          + "' returns a CompletableFuture, but only SELECT statements can run asynchronously.");
+    }
+    if (method.returnsCursor() || method.hasResultHandler()) {
+      throw new BindingException("Mapper method '" + command.getName()
+          + "' returns a CompletableFuture, which cannot be combined with a Cursor or a ResultHandler.");
+    }
   }
 
   public Object execute(SqlSession sqlSession, Object[] args) {
+    if (method.returnsFuture()) {
+      return parallelQueries(sqlSession).submit(session -> executeNow(session, args));
+    }
+    return executeNow(sqlSession, args);
+  }
+
+  /**
+   * The future runs on a session opened from the factory of the calling session, so it uses the same environment,
+   * executor service and plugins.
+   */
+  private ParallelQueries parallelQueries(SqlSession sqlSession) {
+    if (sqlSession instanceof SqlSessionFactory) {
+      // e.g. SqlSessionManager
+      return ((SqlSessionFactory) sqlSession).parallel();
+    }
+    if (sqlSession instanceof DefaultSqlSession) {
+      SqlSessionFactory sqlSessionFactory = ((DefaultSqlSession) sqlSession).getSqlSessionFactory();
+      if (sqlSessionFactory != null) {
+        return sqlSessionFactory.parallel();
+      }
+    }
+    throw new BindingException("Mapper method '" + command.getName()
+        + "' returns a CompletableFuture, but the session it was called on was not opened from a SqlSessionFactory.");
+  }
+
+  private Object executeNow(SqlSession sqlSession, Object[] args) {
     Object result;
     switch (command.getType()) {
       case INSERT: {
@@ -82,6 +132,8 @@ public class MapperMethod {
           result = executeForMap(sqlSession, args);
         } else if (method.returnsCursor()) {
           result = executeForCursor(sqlSession, args);
+        } else if (method.hasRowBounds() && ColumnarResult.class.equals(method.getReturnType())) {
+          result = executeForColumnarResult(sqlSession, args);
         } else {
           Object param = method.convertArgsToSqlCommandParam(args);
           result = sqlSession.selectOne(command.getName(), param);
@@ -157,6 +209,16 @@ public class MapperMethod {
     return result;
   }
 
+  private ColumnarResult executeForColumnarResult(SqlSession sqlSession, Object[] args) {
+    // all the rows are in a single result object, so the row bounds must reach the result set handler
+    Object param = method.convertArgsToSqlCommandParam(args);
+    List<ColumnarResult> list = sqlSession.selectList(command.getName(), param, method.extractRowBounds(args));
+    if (list.size() > 1) {
+      throw new TooManyResultsException("Expected one result (or null) to be returned by selectOne(), but found: " + list.size());
+    }
+    return list.isEmpty() ? null : list.get(0);
+  }
+
   private <T> Cursor<T> executeForCursor(SqlSession sqlSession, Object[] args) {
     Cursor<T> result;
     Object param = method.convertArgsToSqlCommandParam(args);
@@ -179,15 +241,51 @@ public class MapperMethod {
   @SuppressWarnings("unchecked")
   private <E> Object convertToArray(List<E> list) {
     Class<?> arrayComponentType = method.getReturnType().getComponentType();
-    Object array = Array.newInstance(arrayComponentType, list.size());
-    if (arrayComponentType.isPrimitive()) {
-      for (int i = 0; i < list.size(); i++) {
-        Array.set(array, i, list.get(i));
+    if (!arrayComponentType.isPrimitive()) {
+      return list.toArray((E[]) Array.newInstance(arrayComponentType, list.size()));
+    }
+    // unbox without reflective Array.set calls when the elements have the matching wrapper type;
+    // any other element (null, another type) goes through Array.set, which widens or rejects it
+    if (long.class.equals(arrayComponentType)) {
+      long[] array = new long[list.size()];
+      for (int i = 0; i < array.length; i++) {
+        Object element = list.get(i);
+        if (!(element instanceof Long)) {
+          return convertToPrimitiveArray(list, arrayComponentType);
+        }
+        array[i] = (Long) element;
       }
       return array;
-    } else {
-      return list.toArray((E[]) array);
+    } else if (int.class.equals(arrayComponentType)) {
+      int[] array = new int[list.size()];
+      for (int i = 0; i < array.length; i++) {
+        Object element = list.get(i);
+        if (!(element instanceof Integer)) {
+          return convertToPrimitiveArray(list, arrayComponentType);
+        }
+        array[i] = (Integer) element;
+      }
+      return array;
+    } else if (double.class.equals(arrayComponentType)) {
+      double[] array = new double[list.size()];
+      for (int i = 0; i < array.length; i++) {
+        Object element = list.get(i);
+        if (!(element instanceof Double)) {
+          return convertToPrimitiveArray(list, arrayComponentType);
+        }
+        array[i] = (Double) element;
+      }
+      return array;
+    }
+    return convertToPrimitiveArray(list, arrayComponentType);
+  }
+
+  private static Object convertToPrimitiveArray(List<?> list, Class<?> arrayComponentType) {
+    Object array = Array.newInstance(arrayComponentType, list.size());
+    for (int i = 0; i < list.size(); i++) {
+      Array.set(array, i, list.get(i));
     }
+    return array;
   }
 
   private <K, V> Map<K, V> executeForMap(SqlSession sqlSession, Object[] args) {
@@ -279,6 +377,7 @@ public class MapperMethod {
     private final boolean returnsVoid;
     private final boolean returnsCursor;
     private final boolean returnsOptional;
+    private final boolean returnsFuture;
     private final Class<?> returnType;
     private final String mapKey;
     private final Integer resultHandlerIndex;
@@ -287,12 +386,21 @@ public class MapperMethod {
 
     public MethodSignature(Configuration configuration, Class<?> mapperInterface, Method method) {
       Type resolvedReturnType = TypeParameterResolver.resolveReturnType(method, mapperInterface);
+      this.returnsFuture = resolvedReturnType instanceof ParameterizedType
+          && CompletableFuture.class.equals(((ParameterizedType) resolvedReturnType).getRawType());
+      if (this.returnsFuture) {
+        // the signature describes the result the future completes with
+        resolvedReturnType = ((ParameterizedType) resolvedReturnType).getActualTypeArguments()[0];
+        if (Void.class.equals(resolvedReturnType)) {
+          resolvedReturnType = void.class;
+        }
+      }
       if (resolvedReturnType instanceof Class<?>) {
         this.returnType = (Class<?>) resolvedReturnType;
       } else if (resolvedReturnType instanceof ParameterizedType) {
         this.returnType = (Class<?>) ((ParameterizedType) resolvedReturnType).getRawType();
       } else {
-        this.returnType = method.getReturnType();
+        this.returnType = this.returnsFuture ? Object.class : method.getReturnType();
       }
       this.returnsVoid = void.class.equals(this.returnType);
       this.returnsMany = configuration.getObjectFactory().isCollection(this.returnType) || this.returnType.isArray();
@@ -345,6 +453,17 @@ public class MapperMethod {
       return returnsCursor;
     }
 
+    /**
+     * Returns whether the method returns a {@code java.util.concurrent.CompletableFuture}. The other properties of the
+     * signature then describe the result the future completes with.
+     *
+     * @return {@code true}, if the method runs asynchronously
+     * @since 3.5.6
+     */
+    public boolean returnsFuture() {
+      return returnsFuture;
+    }
+
     /**
      * return whether return type is {@code java.util.Optional}.
      *
@@ -376,7 +495,7 @@ public class MapperMethod {
 
     private String getMapKey(Method method) {
       String mapKey = null;
-      if (Map.class.isAssignableFrom(method.getReturnType())) {
+      if (Map.class.isAssignableFrom(returnType)) {
         final MapKey mapKeyAnnotation = method.getAnnotation(MapKey.class);
         if (mapKeyAnnotation != null) {
           mapKey = mapKeyAnnotation.value();
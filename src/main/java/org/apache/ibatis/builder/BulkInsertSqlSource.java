@@ -0,0 +1,215 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.builder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+
+/**
+ * Turns a single-row {@code INSERT ... VALUES (...)} statement into a multi-row one when it is executed with a
+ * collection or an array of rows. The values tuple is repeated once per row and the parameters of each row are bound
+ * as additional parameters, so every chunk of the same size is prepared with the same SQL.
+ *
+ * @since 3.5.6
+ */
+public class BulkInsertSqlSource implements SqlSource {
+
+  private static final String ROW_PARAMETER_PREFIX = "__bulk_";
+
+  private final Configuration configuration;
+  private final SqlSource sqlSource;
+
+  public BulkInsertSqlSource(Configuration configuration, SqlSource sqlSource) {
+    this.configuration = configuration;
+    this.sqlSource = sqlSource;
+  }
+
+  @Override
+  public BoundSql getBoundSql(Object parameterObject) {
+    List<?> rows = getRows(parameterObject);
+    if (rows == null || rows.isEmpty()) {
+      return sqlSource.getBoundSql(parameterObject);
+    }
+    TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+    String sql = null;
+    List<ParameterMapping> parameterMappings = new ArrayList<>();
+    List<Object> values = new ArrayList<>();
+    for (Object row : rows) {
+      BoundSql rowSql = sqlSource.getBoundSql(row);
+      if (sql == null) {
+        sql = rowSql.getSql();
+      } else if (!sql.equals(rowSql.getSql())) {
+        throw new BuilderException("All the rows of a bulk insert must render the same SQL but found '" + sql
+            + "' and '" + rowSql.getSql() + "'.");
+      }
+      MetaObject metaRow = null;
+      for (ParameterMapping parameterMapping : rowSql.getParameterMappings()) {
+        String propertyName = parameterMapping.getProperty();
+        Object value;
+        if (rowSql.hasAdditionalParameter(propertyName)) {
+          value = rowSql.getAdditionalParameter(propertyName);
+        } else if (row == null) {
+          value = null;
+        } else if (typeHandlerRegistry.hasTypeHandler(row.getClass())) {
+          value = row;
+        } else {
+          if (metaRow == null) {
+            metaRow = configuration.newMetaObject(row);
+          }
+          value = metaRow.getValue(propertyName);
+        }
+        String name = ROW_PARAMETER_PREFIX + values.size();
+        parameterMappings.add(new ParameterMapping.Builder(configuration, name, parameterMapping.getTypeHandler())
+            .javaType(parameterMapping.getJavaType())
+            .jdbcType(parameterMapping.getJdbcType())
+            .jdbcTypeName(parameterMapping.getJdbcTypeName())
+            .numericScale(parameterMapping.getNumericScale())
+            .mode(parameterMapping.getMode())
+            .build());
+        values.add(value);
+      }
+    }
+    BoundSql boundSql = new BoundSql(configuration, multiRowSql(sql, rows.size()), parameterMappings, parameterObject);
+    for (int i = 0; i < values.size(); i++) {
+      boundSql.setAdditionalParameter(ROW_PARAMETER_PREFIX + i, values.get(i));
+    }
+    return boundSql;
+  }
+
+  /**
+   * Returns the rows of a bulk insert: the parameter itself if it is a collection or an array, or the only value of a
+   * {@link ParamMap} (e.g. a collection wrapped as {@code collection} and {@code list}).
+   *
+   * @param parameterObject
+   *          the parameter object
+   * @return the rows, or {@code null} if the parameter is a single row
+   */
+  public static List<?> getRows(Object parameterObject) {
+    Object rows = parameterObject;
+    if (parameterObject instanceof ParamMap && !((Map<?, ?>) parameterObject).isEmpty()) {
+      Iterator<?> iterator = ((Map<?, ?>) parameterObject).values().iterator();
+      rows = iterator.next();
+      while (iterator.hasNext()) {
+        if (iterator.next() != rows) {
+          return null;
+        }
+      }
+    }
+    if (rows instanceof List) {
+      return (List<?>) rows;
+    } else if (rows instanceof Collection) {
+      return new ArrayList<>((Collection<?>) rows);
+    } else if (rows instanceof Object[]) {
+      return Arrays.asList((Object[]) rows);
+    }
+    return null;
+  }
+
+  /**
+   * Repeats the {@code VALUES} tuple of a single-row insert. Every parameter of the row must be in the tuple, so the
+   * parameter mappings of the row can be repeated in the same order for each row.
+   */
+  static String multiRowSql(String sql, int rowCount) {
+    int start = findValues(sql);
+    if (start < 0) {
+      throw new BuilderException("A bulk insert must be an INSERT ... VALUES (...) statement but was '" + sql + "'.");
+    }
+    int end = findClosingParenthesis(sql, start);
+    if (hasPlaceholder(sql, 0, start) || hasPlaceholder(sql, end + 1, sql.length())) {
+      throw new BuilderException("All the parameters of a bulk insert must be in its VALUES clause but was '" + sql + "'.");
+    }
+    String tuple = sql.substring(start, end + 1);
+    StringBuilder builder = new StringBuilder(sql.length() + (tuple.length() + 1) * (rowCount - 1));
+    builder.append(sql, 0, end + 1);
+    for (int i = 1; i < rowCount; i++) {
+      builder.append(',').append(tuple);
+    }
+    builder.append(sql, end + 1, sql.length());
+    return builder.toString();
+  }
+
+  private static int findValues(String sql) {
+    for (int i = 0; i < sql.length(); i++) {
+      int end = skipQuoted(sql, i);
+      if (end != i) {
+        i = end;
+      } else if (sql.regionMatches(true, i, "values", 0, 6)
+          && (i == 0 || !Character.isJavaIdentifierPart(sql.charAt(i - 1)))) {
+        int j = i + 6;
+        while (j < sql.length() && Character.isWhitespace(sql.charAt(j))) {
+          j++;
+        }
+        if (j < sql.length() && sql.charAt(j) == '(') {
+          return j;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static int findClosingParenthesis(String sql, int start) {
+    int depth = 0;
+    for (int i = start; i < sql.length(); i++) {
+      int end = skipQuoted(sql, i);
+      if (end != i) {
+        i = end;
+      } else if (sql.charAt(i) == '(') {
+        depth++;
+      } else if (sql.charAt(i) == ')' && --depth == 0) {
+        return i;
+      }
+    }
+    throw new BuilderException("Unbalanced parentheses in the VALUES clause of '" + sql + "'.");
+  }
+
+  private static boolean hasPlaceholder(String sql, int from, int to) {
+    for (int i = from; i < to; i++) {
+      int end = skipQuoted(sql, i);
+      if (end != i) {
+        i = end;
+      } else if (sql.charAt(i) == '?') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the index of the quote closing the string literal or quoted identifier starting at the index provided, or
+   * that index if none starts there. A doubled quote is read as two adjacent literals, which is the same for scanning.
+   */
+  private static int skipQuoted(String sql, int index) {
+    char quote = sql.charAt(index);
+    if (quote != '\'' && quote != '"') {
+      return index;
+    }
+    int end = sql.indexOf(quote, index + 1);
+    return end < 0 ? sql.length() : end;
+  }
+
+}
@@ -18,7 +18,9 @@ package org.apache.ibatis.builder;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
@@ -36,12 +38,25 @@ public class SqlSourceBuilder extends BaseBuilder {
 
   private static final String PARAMETER_PROPERTIES = "javaType,jdbcType,mode,numericScale,resultMap,typeHandler,jdbcTypeName";
 
+  private final ParameterMappingCache parameterMappingCache;
+
   public SqlSourceBuilder(Configuration configuration) {
+    this(configuration, null);
+  }
+
+  /**
+   * @param parameterMappingCache
+   *          the mappings already built for the placeholders of the statement being parsed, or {@code null} to build
+   *          every mapping anew
+   * @since 3.5.6
+   */
+  public SqlSourceBuilder(Configuration configuration, ParameterMappingCache parameterMappingCache) {
     super(configuration);
+    this.parameterMappingCache = parameterMappingCache;
   }
 
   public SqlSource parse(String originalSql, Class<?> parameterType, Map<String, Object> additionalParameters) {
-    ParameterMappingTokenHandler handler = new ParameterMappingTokenHandler(configuration, parameterType, additionalParameters);
+    ParameterMappingTokenHandler handler = new ParameterMappingTokenHandler(configuration, parameterType, additionalParameters, parameterMappingCache);
     GenericTokenParser parser = new GenericTokenParser("#{", "}", handler);
     String sql;
     if (configuration.isShrinkWhitespacesInSql()) {
@@ -66,16 +81,63 @@ public class SqlSourceBuilder extends BaseBuilder {
     return builder.toString();
   }
 
+  /**
+   * Keeps the {@link ParameterMapping} built for each {@code #{...}} placeholder and parameter type, so a dynamic
+   * statement does not parse and build them again on every execution. Placeholders of values bound by
+   * {@code <foreach>} or {@code <bind>} are not cached because their names and types vary with the parameters, and
+   * the number of entries is bounded because placeholders generated by {@code ${}} may vary too.
+   *
+   * @since 3.5.6
+   */
+  public static class ParameterMappingCache {
+
+    private static final int MAX_ENTRIES = 1024;
+
+    private final Map<PlaceholderKey, ParameterMapping> parameterMappings = new ConcurrentHashMap<>();
+
+  }
+
+  private static final class PlaceholderKey {
+
+    private final String content;
+    private final Class<?> parameterType;
+
+    PlaceholderKey(String content, Class<?> parameterType) {
+      this.content = content;
+      this.parameterType = parameterType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PlaceholderKey)) {
+        return false;
+      }
+      PlaceholderKey that = (PlaceholderKey) o;
+      return content.equals(that.content) && Objects.equals(parameterType, that.parameterType);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * content.hashCode() + Objects.hashCode(parameterType);
+    }
+  }
+
   private static class ParameterMappingTokenHandler extends BaseBuilder implements TokenHandler {
 
     private List<ParameterMapping> parameterMappings = new ArrayList<>();
     private Class<?> parameterType;
     private MetaObject metaParameters;
+    private ParameterMappingCache cache;
 
-    public ParameterMappingTokenHandler(Configuration configuration, Class<?> parameterType, Map<String, Object> additionalParameters) {
+    public ParameterMappingTokenHandler(Configuration configuration, Class<?> parameterType, Map<String, Object> additionalParameters,
+        ParameterMappingCache cache) {
       super(configuration);
       this.parameterType = parameterType;
       this.metaParameters = configuration.newMetaObject(additionalParameters);
+      this.cache = cache;
     }
 
     public List<ParameterMapping> getParameterMappings() {
@@ -89,7 +151,24 @@ public class SqlSourceBuilder extends BaseBuilder {
     }
 
     private ParameterMapping buildParameterMapping(String content) {
+      PlaceholderKey key = cache == null ? null : new PlaceholderKey(content, parameterType);
+      if (key != null) {
+        ParameterMapping parameterMapping = cache.parameterMappings.get(key);
+        if (parameterMapping != null && !metaParameters.hasGetter(parameterMapping.getProperty())) {
+          return parameterMapping;
+        }
+      }
       Map<String, String> propertiesMap = parseParameterMapping(content);
+      ParameterMapping parameterMapping = buildParameterMapping(content, propertiesMap, resolvePropertyType(propertiesMap));
+      // the type of a bound value depends on the value, not on the parameter type
+      if (key != null && !metaParameters.hasGetter(propertiesMap.get("property"))
+          && cache.parameterMappings.size() < ParameterMappingCache.MAX_ENTRIES) {
+        cache.parameterMappings.put(key, parameterMapping);
+      }
+      return parameterMapping;
+    }
+
+    private Class<?> resolvePropertyType(Map<String, String> propertiesMap) {
       String property = propertiesMap.get("property");
       Class<?> propertyType;
       if (metaParameters.hasGetter(property)) { // issue #448 get type from additional params
@@ -108,6 +187,11 @@ public class SqlSourceBuilder extends BaseBuilder {
           propertyType = Object.class;
         }
       }
+      return propertyType;
+    }
+
+    private ParameterMapping buildParameterMapping(String content, Map<String, String> propertiesMap, Class<?> propertyType) {
+      String property = propertiesMap.get("property");
       ParameterMapping.Builder builder = new ParameterMapping.Builder(configuration, property, propertyType);
       Class<?> javaType = propertyType;
       String typeHandlerAlias = null;
@@ -15,9 +15,15 @@
  */
 package org.apache.ibatis.builder.xml;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.sql.DataSource;
 
@@ -270,6 +276,9 @@ public class XMLConfigBuilder extends BaseBuilder {
     configuration.setConfigurationFactory(resolveClass(props.getProperty("configurationFactory")));
     configuration.setShrinkWhitespacesInSql(booleanValueOf(props.getProperty("shrinkWhitespacesInSql"), false));
     configuration.setDefaultSqlProviderType(resolveClass(props.getProperty("defaultSqlProviderType")));
+    configuration.setParallelMapperParsing(booleanValueOf(props.getProperty("parallelMapperParsing"), false));
+    configuration.setLazyStatementBuilding(booleanValueOf(props.getProperty("lazyStatementBuilding"), false));
+    configuration.setNestedResultStreaming(booleanValueOf(props.getProperty("nestedResultStreaming"), false));
   }
 
   private void environmentsElement(XNode context) throws Exception {
@@ -362,32 +371,90 @@ public class XMLConfigBuilder extends BaseBuilder {
 
   private void mapperElement(XNode parent) throws Exception {
     if (parent != null) {
-      for (XNode child : parent.getChildren()) {
-        if ("package".equals(child.getName())) {
-          String mapperPackage = child.getStringAttribute("name");
-          configuration.addMappers(mapperPackage);
-        } else {
-          String resource = child.getStringAttribute("resource");
-          String url = child.getStringAttribute("url");
-          String mapperClass = child.getStringAttribute("class");
-          if (resource != null && url == null && mapperClass == null) {
-            ErrorContext.instance().resource(resource);
-            InputStream inputStream = Resources.getResourceAsStream(resource);
-            XMLMapperBuilder mapperParser = new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments());
-            mapperParser.parse();
-          } else if (resource == null && url != null && mapperClass == null) {
-            ErrorContext.instance().resource(url);
-            InputStream inputStream = Resources.getUrlAsStream(url);
-            XMLMapperBuilder mapperParser = new XMLMapperBuilder(inputStream, configuration, url, configuration.getSqlFragments());
-            mapperParser.parse();
-          } else if (resource == null && url == null && mapperClass != null) {
-            Class<?> mapperInterface = Resources.classForName(mapperClass);
-            configuration.addMapper(mapperInterface);
+      List<XNode> children = parent.getChildren();
+      List<CompletableFuture<XPathParser>> mapperDocuments = configuration.isParallelMapperParsing()
+          ? parseMapperDocuments(children) : null;
+      try {
+        for (int i = 0; i < children.size(); i++) {
+          XNode child = children.get(i);
+          if ("package".equals(child.getName())) {
+            String mapperPackage = child.getStringAttribute("name");
+            configuration.addMappers(mapperPackage);
           } else {
-            throw new BuilderException("A mapper element may only specify a url, resource or class, but not more than one.");
+            String resource = child.getStringAttribute("resource");
+            String url = child.getStringAttribute("url");
+            String mapperClass = child.getStringAttribute("class");
+            if (resource != null && url == null && mapperClass == null) {
+              ErrorContext.instance().resource(resource);
+              XMLMapperBuilder mapperParser = mapperDocuments == null
+                  ? new XMLMapperBuilder(Resources.getResourceAsStream(resource), configuration, resource, configuration.getSqlFragments())
+                  : new XMLMapperBuilder(awaitMapperDocument(mapperDocuments.get(i)), configuration, resource, configuration.getSqlFragments());
+              mapperParser.parse();
+            } else if (resource == null && url != null && mapperClass == null) {
+              ErrorContext.instance().resource(url);
+              XMLMapperBuilder mapperParser = mapperDocuments == null
+                  ? new XMLMapperBuilder(Resources.getUrlAsStream(url), configuration, url, configuration.getSqlFragments())
+                  : new XMLMapperBuilder(awaitMapperDocument(mapperDocuments.get(i)), configuration, url, configuration.getSqlFragments());
+              mapperParser.parse();
+            } else if (resource == null && url == null && mapperClass != null) {
+              Class<?> mapperInterface = Resources.classForName(mapperClass);
+              configuration.addMapper(mapperInterface);
+            } else {
+              throw new BuilderException("A mapper element may only specify a url, resource or class, but not more than one.");
+            }
           }
         }
+      } finally {
+        if (mapperDocuments != null) {
+          mapperDocuments.stream().filter(document -> document != null).forEach(document -> document.cancel(false));
+        }
+      }
+    }
+  }
+
+  /**
+   * Starts parsing every mapper XML file declared by a resource or url on the fork-join pool.
+   * The returned list is indexed like the given children and holds null for the other mapper elements.
+   */
+  private List<CompletableFuture<XPathParser>> parseMapperDocuments(List<XNode> children) {
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    List<CompletableFuture<XPathParser>> mapperDocuments = new ArrayList<>(children.size());
+    for (XNode child : children) {
+      String resource = child.getStringAttribute("resource");
+      String url = child.getStringAttribute("url");
+      String mapperClass = child.getStringAttribute("class");
+      if ("package".equals(child.getName()) || mapperClass != null || (resource == null) == (url == null)) {
+        mapperDocuments.add(null);
+      } else {
+        mapperDocuments.add(CompletableFuture.supplyAsync(
+            () -> createMapperParser(resource, url, contextClassLoader), ForkJoinPool.commonPool()));
+      }
+    }
+    return mapperDocuments;
+  }
+
+  private XPathParser createMapperParser(String resource, String url, ClassLoader contextClassLoader) {
+    Thread currentThread = Thread.currentThread();
+    ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+    currentThread.setContextClassLoader(contextClassLoader);
+    try {
+      InputStream inputStream = resource != null ? Resources.getResourceAsStream(resource) : Resources.getUrlAsStream(url);
+      return new XPathParser(inputStream, true, configuration.getVariables(), new XMLMapperEntityResolver());
+    } catch (IOException e) {
+      throw new BuilderException("Error reading mapper XML '" + (resource != null ? resource : url) + "'. Cause: " + e, e);
+    } finally {
+      currentThread.setContextClassLoader(originalClassLoader);
+    }
+  }
+
+  private XPathParser awaitMapperDocument(CompletableFuture<XPathParser> mapperDocument) {
+    try {
+      return mapperDocument.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
       }
+      throw new BuilderException("Error parsing mapper XML. Cause: " + e.getCause(), e.getCause());
     }
   }
 
@@ -38,6 +38,7 @@ class PooledConnection implements InvocationHandler {
   private long checkoutTimestamp;
   private long createdTimestamp;
   private long lastUsedTimestamp;
+  private long lastValidatedTimestamp;
   private int connectionTypeCode;
   private boolean valid;
 
@@ -159,6 +160,25 @@ class PooledConnection implements InvocationHandler {
     this.lastUsedTimestamp = lastUsedTimestamp;
   }
 
+  /**
+   * Getter for the time that the connection was last successfully pinged.
+   *
+   * @return - the timestamp, or 0 if the connection has never been pinged
+   */
+  public long getLastValidatedTimestamp() {
+    return lastValidatedTimestamp;
+  }
+
+  /**
+   * Setter for the time that the connection was last successfully pinged.
+   *
+   * @param lastValidatedTimestamp
+   *          - the timestamp
+   */
+  public void setLastValidatedTimestamp(long lastValidatedTimestamp) {
+    this.lastValidatedTimestamp = lastValidatedTimestamp;
+  }
+
   /**
    * Getter for the time since this connection was last used.
    *
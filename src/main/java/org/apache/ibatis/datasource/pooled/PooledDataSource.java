@@ -16,13 +16,20 @@
 package org.apache.ibatis.datasource.pooled;
 
 import java.io.PrintWriter;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import javax.sql.DataSource;
@@ -40,6 +47,9 @@ public class PooledDataSource implements DataSource {
 
   private static final Log log = LogFactory.getLog(PooledDataSource.class);
 
+  private static final int BACKGROUND_THREADS = 4;
+  private static ScheduledExecutorService backgroundExecutor;
+
   private final PoolState state = new PoolState(this);
 
   private final UnpooledDataSource dataSource;
@@ -47,14 +57,22 @@ public class PooledDataSource implements DataSource {
   // OPTIONAL CONFIGURATION FIELDS
   protected int poolMaximumActiveConnections = 10;
   protected int poolMaximumIdleConnections = 5;
+  protected int poolMinimumIdleConnections;
   protected int poolMaximumCheckoutTime = 20000;
   protected int poolTimeToWait = 20000;
   protected int poolMaximumLocalBadConnectionTolerance = 3;
   protected String poolPingQuery = "NO PING QUERY SET";
   protected boolean poolPingEnabled;
   protected int poolPingConnectionsNotUsedFor;
+  protected int poolHousekeepingInterval;
+  protected int poolMaximumIdleTime;
+  protected int poolMaximumConnectionLifetime;
 
   private int expectedConnectionTypeCode;
+  private ScheduledFuture<?> housekeeping;
+  private int forceCloseCount;
+  private int pendingConnections;
+  private int pendingIdleConnections;
 
   public PooledDataSource() {
     dataSource = new UnpooledDataSource();
@@ -183,6 +201,21 @@ public class PooledDataSource implements DataSource {
     forceCloseAll();
   }
 
+  /**
+   * The number of idle connections the pool keeps warmed. Missing connections are opened in parallel on background
+   * daemon threads and outside of the pool lock, when the pool is started (see {@link #start()}) or on the first
+   * checkout, and whenever a checkout or the housekeeping thread leaves fewer idle connections than this, but never
+   * beyond the maximum number of active or idle connections.
+   *
+   * @param poolMinimumIdleConnections
+   *          The minimum number of idle connections
+   * @since 3.5.6
+   */
+  public void setPoolMinimumIdleConnections(int poolMinimumIdleConnections) {
+    this.poolMinimumIdleConnections = poolMinimumIdleConnections;
+    forceCloseAll();
+  }
+
   /**
    * The maximum number of tolerance for bad connection happens in one thread
    * which are applying for new {@link PooledConnection}.
@@ -254,6 +287,46 @@ public class PooledDataSource implements DataSource {
     forceCloseAll();
   }
 
+  /**
+   * How often, in milliseconds, a background thread validates and evicts idle connections. Validated connections
+   * are not pinged again on checkout until {@link #setPoolPingConnectionsNotUsedFor(int)} elapses. Zero (the default)
+   * disables the background thread.
+   *
+   * @param milliseconds
+   *          the number of milliseconds between two housekeeping runs
+   * @since 3.5.6
+   */
+  public void setPoolHousekeepingInterval(int milliseconds) {
+    this.poolHousekeepingInterval = milliseconds;
+    forceCloseAll();
+  }
+
+  /**
+   * If an idle connection has not been used in this many milliseconds, the housekeeping thread closes it. Zero (the
+   * default) keeps idle connections indefinitely.
+   *
+   * @param milliseconds
+   *          the number of milliseconds of inactivity after which an idle connection is closed
+   * @since 3.5.6
+   */
+  public void setPoolMaximumIdleTime(int milliseconds) {
+    this.poolMaximumIdleTime = milliseconds;
+    forceCloseAll();
+  }
+
+  /**
+   * If an idle connection was opened more than this many milliseconds ago, the housekeeping thread closes it. Zero
+   * (the default) means connections never expire.
+   *
+   * @param milliseconds
+   *          the maximum lifetime of a connection in milliseconds
+   * @since 3.5.6
+   */
+  public void setPoolMaximumConnectionLifetime(int milliseconds) {
+    this.poolMaximumConnectionLifetime = milliseconds;
+    forceCloseAll();
+  }
+
   public String getDriver() {
     return dataSource.getDriver();
   }
@@ -300,6 +373,10 @@ public class PooledDataSource implements DataSource {
     return poolMaximumIdleConnections;
   }
 
+  public int getPoolMinimumIdleConnections() {
+    return poolMinimumIdleConnections;
+  }
+
   public int getPoolMaximumLocalBadConnectionTolerance() {
     return poolMaximumLocalBadConnectionTolerance;
   }
@@ -324,11 +401,26 @@ public class PooledDataSource implements DataSource {
     return poolPingConnectionsNotUsedFor;
   }
 
+  public int getPoolHousekeepingInterval() {
+    return poolHousekeepingInterval;
+  }
+
+  public int getPoolMaximumIdleTime() {
+    return poolMaximumIdleTime;
+  }
+
+  public int getPoolMaximumConnectionLifetime() {
+    return poolMaximumConnectionLifetime;
+  }
+
   /**
    * Closes all active and idle connections in the pool.
    */
   public void forceCloseAll() {
-    synchronized (state) {
+    state.lock.lock();
+    try {
+      stopHousekeeping();
+      forceCloseCount++;
       expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(), dataSource.getPassword());
       for (int i = state.activeConnections.size(); i > 0; i--) {
         try {
@@ -358,6 +450,8 @@ public class PooledDataSource implements DataSource {
           // ignore
         }
       }
+    } finally {
+      state.lock.unlock();
     }
     if (log.isDebugEnabled()) {
       log.debug("PooledDataSource forcefully closed/removed all connections.");
@@ -373,33 +467,38 @@ public class PooledDataSource implements DataSource {
   }
 
   protected void pushConnection(PooledConnection conn) throws SQLException {
+    // the connection is still counted as active, so it is pinged and rolled back outside of the lock
+    boolean valid = conn.isValid();
+    if (valid) {
+      try {
+        if (!conn.getRealConnection().getAutoCommit()) {
+          conn.getRealConnection().rollback();
+        }
+      } catch (SQLException e) {
+        discardConnection(conn);
+        throw e;
+      }
+    }
 
-    synchronized (state) {
-      state.activeConnections.remove(conn);
-      if (conn.isValid()) {
+    boolean close = false;
+    state.lock.lock();
+    try {
+      // a connection claimed as overdue meanwhile has already been handed to another thread
+      if (state.activeConnections.remove(conn) && valid) {
+        state.accumulatedCheckoutTime += conn.getCheckoutTime();
         if (state.idleConnections.size() < poolMaximumIdleConnections && conn.getConnectionTypeCode() == expectedConnectionTypeCode) {
-          state.accumulatedCheckoutTime += conn.getCheckoutTime();
-          if (!conn.getRealConnection().getAutoCommit()) {
-            conn.getRealConnection().rollback();
-          }
           PooledConnection newConn = new PooledConnection(conn.getRealConnection(), this);
           state.idleConnections.add(newConn);
           newConn.setCreatedTimestamp(conn.getCreatedTimestamp());
           newConn.setLastUsedTimestamp(conn.getLastUsedTimestamp());
+          newConn.setLastValidatedTimestamp(conn.getLastValidatedTimestamp());
           conn.invalidate();
           if (log.isDebugEnabled()) {
             log.debug("Returned connection " + newConn.getRealHashCode() + " to pool.");
           }
-          state.notifyAll();
+          state.condition.signalAll();
         } else {
-          state.accumulatedCheckoutTime += conn.getCheckoutTime();
-          if (!conn.getRealConnection().getAutoCommit()) {
-            conn.getRealConnection().rollback();
-          }
-          conn.getRealConnection().close();
-          if (log.isDebugEnabled()) {
-            log.debug("Closed connection " + conn.getRealHashCode() + ".");
-          }
+          close = true;
           conn.invalidate();
         }
       } else {
@@ -408,6 +507,15 @@ public class PooledDataSource implements DataSource {
         }
         state.badConnectionCount++;
       }
+    } finally {
+      state.lock.unlock();
+    }
+
+    if (close) {
+      conn.getRealConnection().close();
+      if (log.isDebugEnabled()) {
+        log.debug("Closed connection " + conn.getRealHashCode() + ".");
+      }
     }
   }
 
@@ -416,9 +524,14 @@ public class PooledDataSource implements DataSource {
     PooledConnection conn = null;
     long t = System.currentTimeMillis();
     int localBadConnectionCount = 0;
+    boolean create = false;
 
     while (conn == null) {
-      synchronized (state) {
+      int idleToOpen = 0;
+      int closeCount = 0;
+      state.lock.lock();
+      try {
+        startHousekeeping();
         if (!state.idleConnections.isEmpty()) {
           // Pool has available connection
           conn = state.idleConnections.remove(0);
@@ -427,40 +540,25 @@ public class PooledDataSource implements DataSource {
           }
         } else {
           // Pool does not have available connection
-          if (state.activeConnections.size() < poolMaximumActiveConnections) {
-            // Can create new connection
-            conn = new PooledConnection(dataSource.getConnection(), this);
-            if (log.isDebugEnabled()) {
-              log.debug("Created connection " + conn.getRealHashCode() + ".");
-            }
+          if (state.activeConnections.size() + pendingConnections < poolMaximumActiveConnections) {
+            // Can create new connection, which is opened outside of the lock
+            pendingConnections++;
+            create = true;
           } else {
             // Cannot create new connection
-            PooledConnection oldestActiveConnection = state.activeConnections.get(0);
-            long longestCheckoutTime = oldestActiveConnection.getCheckoutTime();
-            if (longestCheckoutTime > poolMaximumCheckoutTime) {
+            PooledConnection oldestActiveConnection = state.activeConnections.isEmpty() ? null : state.activeConnections.get(0);
+            long longestCheckoutTime = oldestActiveConnection == null ? 0 : oldestActiveConnection.getCheckoutTime();
+            if (oldestActiveConnection != null && longestCheckoutTime > poolMaximumCheckoutTime) {
               // Can claim overdue connection
               state.claimedOverdueConnectionCount++;
               state.accumulatedCheckoutTimeOfOverdueConnections += longestCheckoutTime;
               state.accumulatedCheckoutTime += longestCheckoutTime;
               state.activeConnections.remove(oldestActiveConnection);
-              if (!oldestActiveConnection.getRealConnection().getAutoCommit()) {
-                try {
-                  oldestActiveConnection.getRealConnection().rollback();
-                } catch (SQLException e) {
-                  /*
-                     Just log a message for debug and continue to execute the following
-                     statement like nothing happened.
-                     Wrap the bad connection with a new PooledConnection, this will help
-                     to not interrupt current executing thread and give current thread a
-                     chance to join the next competition for another valid/good database
-                     connection. At the end of this loop, bad {@link @conn} will be set as null.
-                   */
-                  log.debug("Bad connection. Could not roll back");
-                }
-              }
+              // rolled back outside of the lock like any other checked out connection
               conn = new PooledConnection(oldestActiveConnection.getRealConnection(), this);
               conn.setCreatedTimestamp(oldestActiveConnection.getCreatedTimestamp());
               conn.setLastUsedTimestamp(oldestActiveConnection.getLastUsedTimestamp());
+              conn.setLastValidatedTimestamp(oldestActiveConnection.getLastValidatedTimestamp());
               oldestActiveConnection.invalidate();
               if (log.isDebugEnabled()) {
                 log.debug("Claimed overdue connection " + conn.getRealHashCode() + ".");
@@ -476,7 +574,11 @@ public class PooledDataSource implements DataSource {
                   log.debug("Waiting as long as " + poolTimeToWait + " milliseconds for connection.");
                 }
                 long wt = System.currentTimeMillis();
-                state.wait(poolTimeToWait);
+                if (poolTimeToWait > 0) {
+                  state.condition.await(poolTimeToWait, TimeUnit.MILLISECONDS);
+                } else {
+                  state.condition.await();
+                }
                 state.accumulatedWaitTime += System.currentTimeMillis() - wt;
               } catch (InterruptedException e) {
                 break;
@@ -485,30 +587,55 @@ public class PooledDataSource implements DataSource {
           }
         }
         if (conn != null) {
-          // ping to server and check the connection is valid or not
-          if (conn.isValid()) {
-            if (!conn.getRealConnection().getAutoCommit()) {
-              conn.getRealConnection().rollback();
-            }
+          // reserve the slot while the connection is checked outside of the lock
+          conn.setCheckoutTimestamp(System.currentTimeMillis());
+          state.activeConnections.add(conn);
+        }
+        idleToOpen = reserveIdleConnections();
+        closeCount = forceCloseCount;
+      } finally {
+        state.lock.unlock();
+      }
+      openIdleConnections(idleToOpen, closeCount);
+
+      if (create) {
+        create = false;
+        conn = openActiveConnection();
+      }
+
+      if (conn != null) {
+        // ping to server and check the connection is valid or not, both outside of the lock
+        boolean valid = conn.isValid() && rollbackIfNeeded(conn);
+        PooledConnection badConnection = null;
+        state.lock.lock();
+        try {
+          if (valid) {
             conn.setConnectionTypeCode(assembleConnectionTypeCode(dataSource.getUrl(), username, password));
             conn.setCheckoutTimestamp(System.currentTimeMillis());
             conn.setLastUsedTimestamp(System.currentTimeMillis());
-            state.activeConnections.add(conn);
             state.requestCount++;
             state.accumulatedRequestTime += System.currentTimeMillis() - t;
           } else {
+            state.activeConnections.remove(conn);
+            state.condition.signalAll();
             if (log.isDebugEnabled()) {
               log.debug("A bad connection (" + conn.getRealHashCode() + ") was returned from the pool, getting another connection.");
             }
             state.badConnectionCount++;
             localBadConnectionCount++;
+            badConnection = conn;
             conn = null;
-            if (localBadConnectionCount > (poolMaximumIdleConnections + poolMaximumLocalBadConnectionTolerance)) {
-              if (log.isDebugEnabled()) {
-                log.debug("PooledDataSource: Could not get a good connection to the database.");
-              }
-              throw new SQLException("PooledDataSource: Could not get a good connection to the database.");
+          }
+        } finally {
+          state.lock.unlock();
+        }
+        if (badConnection != null) {
+          closeQuietly(badConnection);
+          if (localBadConnectionCount > (poolMaximumIdleConnections + poolMaximumLocalBadConnectionTolerance)) {
+            if (log.isDebugEnabled()) {
+              log.debug("PooledDataSource: Could not get a good connection to the database.");
             }
+            throw new SQLException("PooledDataSource: Could not get a good connection to the database.");
           }
         }
       }
@@ -525,6 +652,141 @@ public class PooledDataSource implements DataSource {
     return conn;
   }
 
+  /**
+   * Rolls back a checked out connection that is not in auto-commit mode. A connection that cannot be rolled back is
+   * treated as a bad connection, so the current thread gets a chance to join the next competition for another
+   * valid/good database connection.
+   *
+   * @return false if the connection could not be rolled back
+   */
+  private boolean rollbackIfNeeded(PooledConnection conn) {
+    try {
+      Connection realConn = conn.getRealConnection();
+      if (!realConn.getAutoCommit()) {
+        realConn.rollback();
+      }
+      return true;
+    } catch (SQLException e) {
+      if (log.isDebugEnabled()) {
+        log.debug("Bad connection " + conn.getRealHashCode() + ". Could not roll back: " + e.getMessage());
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Removes a checked out connection from the pool, wakes up the threads waiting for a connection and closes it.
+   */
+  private void discardConnection(PooledConnection conn) {
+    state.lock.lock();
+    try {
+      state.activeConnections.remove(conn);
+      state.condition.signalAll();
+    } finally {
+      state.lock.unlock();
+    }
+    closeQuietly(conn);
+  }
+
+  private static void closeQuietly(PooledConnection conn) {
+    conn.invalidate();
+    try {
+      conn.getRealConnection().close();
+    } catch (Exception e) {
+      // ignore
+    }
+  }
+
+  private PooledConnection openActiveConnection() throws SQLException {
+    Connection realConn = null;
+    try {
+      realConn = dataSource.getConnection();
+    } finally {
+      state.lock.lock();
+      try {
+        pendingConnections--;
+        if (realConn == null) {
+          state.condition.signalAll();
+        }
+      } finally {
+        state.lock.unlock();
+      }
+    }
+    PooledConnection conn = new PooledConnection(realConn, this);
+    if (log.isDebugEnabled()) {
+      log.debug("Created connection " + conn.getRealHashCode() + ".");
+    }
+    state.lock.lock();
+    try {
+      conn.setCheckoutTimestamp(System.currentTimeMillis());
+      state.activeConnections.add(conn);
+    } finally {
+      state.lock.unlock();
+    }
+    return conn;
+  }
+
+  /**
+   * Reserves the idle connections missing to reach the minimum number of idle connections. Must be called while
+   * holding the pool lock, the connections are then opened with {@link #openIdleConnections(int, int)} after it is
+   * released.
+   *
+   * @return the number of connections to open
+   */
+  private int reserveIdleConnections() {
+    int target = Math.min(poolMinimumIdleConnections, poolMaximumIdleConnections);
+    int capacity = poolMaximumActiveConnections - state.activeConnections.size() - state.idleConnections.size() - pendingConnections;
+    int missing = Math.min(target - state.idleConnections.size() - pendingIdleConnections, capacity);
+    if (missing <= 0) {
+      return 0;
+    }
+    pendingConnections += missing;
+    pendingIdleConnections += missing;
+    return missing;
+  }
+
+  /**
+   * Opens reserved idle connections in parallel on the daemon threads of the background executor.
+   */
+  private void openIdleConnections(int count, int closeCount) {
+    for (int i = 0; i < count; i++) {
+      getBackgroundExecutor().execute(() -> openIdleConnection(closeCount));
+    }
+  }
+
+  private void openIdleConnection(int closeCount) {
+    Connection realConn = null;
+    try {
+      realConn = dataSource.getConnection();
+    } catch (Exception e) {
+      log.warn("Could not open an idle connection: " + e.getMessage());
+    }
+    state.lock.lock();
+    try {
+      pendingConnections--;
+      pendingIdleConnections--;
+      state.condition.signalAll();
+      // the pool may have been closed while the connection was opened
+      if (realConn != null && closeCount == forceCloseCount && state.idleConnections.size() < poolMaximumIdleConnections) {
+        PooledConnection conn = new PooledConnection(realConn, this);
+        state.idleConnections.add(conn);
+        if (log.isDebugEnabled()) {
+          log.debug("Created idle connection " + conn.getRealHashCode() + ".");
+        }
+        return;
+      }
+    } finally {
+      state.lock.unlock();
+    }
+    if (realConn != null) {
+      try {
+        realConn.close();
+      } catch (Exception e) {
+        // ignore
+      }
+    }
+  }
+
   /**
    * Method to check to see if a connection is still usable
    *
@@ -545,7 +807,8 @@ public class PooledDataSource implements DataSource {
     }
 
     if (result && poolPingEnabled && poolPingConnectionsNotUsedFor >= 0
-        && conn.getTimeElapsedSinceLastUse() > poolPingConnectionsNotUsedFor) {
+        && conn.getTimeElapsedSinceLastUse() > poolPingConnectionsNotUsedFor
+        && System.currentTimeMillis() - conn.getLastValidatedTimestamp() > poolPingConnectionsNotUsedFor) {
       try {
         if (log.isDebugEnabled()) {
           log.debug("Testing connection " + conn.getRealHashCode() + " ...");
@@ -558,6 +821,7 @@ public class PooledDataSource implements DataSource {
           realConn.rollback();
         }
         result = true;
+        conn.setLastValidatedTimestamp(System.currentTimeMillis());
         if (log.isDebugEnabled()) {
           log.debug("Connection " + conn.getRealHashCode() + " is GOOD!");
         }
@@ -577,6 +841,165 @@ public class PooledDataSource implements DataSource {
     return result;
   }
 
+  /**
+   * Validates the idle connections and closes the ones that exceeded the maximum idle time or lifetime. Each
+   * connection is taken out of the idle list while it is pinged, so checkouts are never blocked by a slow ping.
+   */
+  protected void evictAndValidateIdleConnections() {
+    List<PooledConnection> candidates;
+    int closeCount;
+    state.lock.lock();
+    try {
+      candidates = new ArrayList<>(state.idleConnections);
+      closeCount = forceCloseCount;
+    } finally {
+      state.lock.unlock();
+    }
+    for (PooledConnection conn : candidates) {
+      state.lock.lock();
+      try {
+        if (!state.idleConnections.remove(conn)) {
+          // checked out in the meantime
+          continue;
+        }
+        // counted as pending while it is checked, so a checkout does not open a connection in its place
+        pendingConnections++;
+      } finally {
+        state.lock.unlock();
+      }
+      boolean keep;
+      if (poolMaximumConnectionLifetime > 0 && conn.getAge() > poolMaximumConnectionLifetime) {
+        keep = false;
+        if (log.isDebugEnabled()) {
+          log.debug("Connection " + conn.getRealHashCode() + " exceeded its maximum lifetime.");
+        }
+      } else if (poolMaximumIdleTime > 0 && conn.getTimeElapsedSinceLastUse() > poolMaximumIdleTime) {
+        keep = false;
+        if (log.isDebugEnabled()) {
+          log.debug("Connection " + conn.getRealHashCode() + " exceeded its maximum idle time.");
+        }
+      } else {
+        keep = conn.isValid();
+      }
+      state.lock.lock();
+      try {
+        pendingConnections--;
+        state.condition.signalAll();
+        // the pool may have been closed while the connection was pinged
+        if (keep && closeCount == forceCloseCount && state.idleConnections.size() < poolMaximumIdleConnections) {
+          state.idleConnections.add(conn);
+          continue;
+        }
+      } finally {
+        state.lock.unlock();
+      }
+      closeQuietly(conn);
+      if (log.isDebugEnabled()) {
+        log.debug("Closed idle connection " + conn.getRealHashCode() + ".");
+      }
+    }
+    int idleToOpen = 0;
+    state.lock.lock();
+    try {
+      if (closeCount == forceCloseCount) {
+        idleToOpen = reserveIdleConnections();
+      }
+    } finally {
+      state.lock.unlock();
+    }
+    openIdleConnections(idleToOpen, closeCount);
+  }
+
+  /**
+   * Starts the pool without waiting for the first checkout: schedules the housekeeping, if enabled, and opens the
+   * minimum number of idle connections in the background. {@link PooledDataSourceFactory} calls it once all the
+   * properties are set.
+   *
+   * @since 3.5.6
+   */
+  public void start() {
+    int idleToOpen;
+    int closeCount;
+    state.lock.lock();
+    try {
+      startHousekeeping();
+      idleToOpen = reserveIdleConnections();
+      closeCount = forceCloseCount;
+    } finally {
+      state.lock.unlock();
+    }
+    openIdleConnections(idleToOpen, closeCount);
+  }
+
+  private void startHousekeeping() {
+    if (housekeeping == null && poolHousekeepingInterval > 0) {
+      housekeeping = HousekeepingTask.schedule(this, poolHousekeepingInterval);
+    }
+  }
+
+  private void stopHousekeeping() {
+    if (housekeeping != null) {
+      housekeeping.cancel(false);
+      housekeeping = null;
+    }
+  }
+
+  /**
+   * Runs the housekeeping and opens the idle connections of all the pools on at most {@link #BACKGROUND_THREADS}
+   * threads. Each thread stops a minute after it ran out of work, so the executor keeps no thread (nor the class loader
+   * of an undeployed application) alive once no pool has housekeeping scheduled or connections to open.
+   */
+  private static synchronized ScheduledExecutorService getBackgroundExecutor() {
+    if (backgroundExecutor == null) {
+      ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(BACKGROUND_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "mybatis-pool-background");
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor.setRemoveOnCancelPolicy(true);
+      executor.setKeepAliveTime(1, TimeUnit.MINUTES);
+      executor.allowCoreThreadTimeOut(true);
+      backgroundExecutor = executor;
+    }
+    return backgroundExecutor;
+  }
+
+  /**
+   * Periodic housekeeping that only weakly references the pool, so an abandoned pool can still be finalized.
+   */
+  private static class HousekeepingTask implements Runnable {
+
+    private final WeakReference<PooledDataSource> dataSource;
+    private volatile ScheduledFuture<?> future;
+
+    private HousekeepingTask(PooledDataSource dataSource) {
+      this.dataSource = new WeakReference<>(dataSource);
+    }
+
+    static ScheduledFuture<?> schedule(PooledDataSource dataSource, long interval) {
+      HousekeepingTask task = new HousekeepingTask(dataSource);
+      task.future = getBackgroundExecutor().scheduleWithFixedDelay(task, interval, interval, TimeUnit.MILLISECONDS);
+      return task.future;
+    }
+
+    @Override
+    public void run() {
+      PooledDataSource ds = dataSource.get();
+      if (ds == null) {
+        ScheduledFuture<?> f = future;
+        if (f != null) {
+          f.cancel(false);
+        }
+        return;
+      }
+      try {
+        ds.evictAndValidateIdleConnections();
+      } catch (RuntimeException e) {
+        log.warn("Pool housekeeping failed: " + e.getMessage());
+      }
+    }
+  }
+
   /**
    * Unwraps a pooled connection to get to the 'real' connection
    *
@@ -109,7 +109,7 @@ public abstract class BaseExecutor implements Executor {
 
   @Override
   public int update(MappedStatement ms, Object parameter) throws SQLException {
-    ErrorContext.instance().resource(ms.getResource()).activity("executing an update").object(ms.getId());
+    ErrorContext.instance().statement(ms, ErrorContext.Phase.EXECUTING_UPDATE);
     if (closed) {
       throw new ExecutorException("Executor was closed.");
     }
@@ -142,7 +142,7 @@ public abstract class BaseExecutor implements Executor {
   @SuppressWarnings("unchecked")
   @Override
   public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, CacheKey key, BoundSql boundSql) throws SQLException {
-    ErrorContext.instance().resource(ms.getResource()).activity("executing a query").object(ms.getId());
+    ErrorContext.instance().statement(ms, ErrorContext.Phase.EXECUTING_QUERY);
     if (closed) {
       throw new ExecutorException("Executor was closed.");
     }
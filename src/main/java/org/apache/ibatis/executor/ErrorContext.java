@@ -15,6 +15,9 @@
  */
 package org.apache.ibatis.executor;
 
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMap;
+
 /**
  * @author Clinton Begin
  */
@@ -30,6 +33,8 @@ public class ErrorContext {
   private String message;
   private String sql;
   private Throwable cause;
+  private MappedStatement statement;
+  private Phase phase;
 
   private ErrorContext() {
   }
@@ -42,17 +47,40 @@ public class ErrorContext {
     ErrorContext newContext = new ErrorContext();
     newContext.stored = this;
     LOCAL.set(newContext);
-    return LOCAL.get();
+    return newContext;
   }
 
   public ErrorContext recall() {
     if (stored != null) {
-      LOCAL.set(stored);
+      ErrorContext previous = stored;
+      LOCAL.set(previous);
       stored = null;
+      return previous;
     }
     return LOCAL.get();
   }
 
+  /**
+   * Records the statement being executed and the phase of its execution. Only the two references are kept: the
+   * resource, the object involved and the activity are read from them when the context is formatted after an error.
+   * A resource, activity or object set afterwards takes precedence.
+   *
+   * @param statement
+   *          the mapped statement
+   * @param phase
+   *          the phase of the execution
+   * @return this context
+   * @since 3.5.6
+   */
+  public ErrorContext statement(MappedStatement statement, Phase phase) {
+    this.statement = statement;
+    this.phase = phase;
+    this.resource = null;
+    this.activity = null;
+    this.object = null;
+    return this;
+  }
+
   public ErrorContext resource(String resource) {
     this.resource = resource;
     return this;
@@ -90,6 +118,8 @@ public class ErrorContext {
     message = null;
     sql = null;
     cause = null;
+    statement = null;
+    phase = null;
     LOCAL.remove();
     return this;
   }
@@ -106,6 +136,7 @@ public class ErrorContext {
     }
 
     // resource
+    String resource = getResource();
     if (resource != null) {
       description.append(LINE_SEPARATOR);
       description.append("### The error may exist in ");
@@ -113,6 +144,7 @@ public class ErrorContext {
     }
 
     // object
+    String object = getObject();
     if (object != null) {
       description.append(LINE_SEPARATOR);
       description.append("### The error may involve ");
@@ -120,6 +152,7 @@ public class ErrorContext {
     }
 
     // activity
+    String activity = getActivity();
     if (activity != null) {
       description.append(LINE_SEPARATOR);
       description.append("### The error occurred while ");
@@ -143,4 +176,52 @@ public class ErrorContext {
     return description.toString();
   }
 
+  private String getResource() {
+    if (resource == null && statement != null) {
+      return statement.getResource();
+    }
+    return resource;
+  }
+
+  private String getObject() {
+    if (object == null && statement != null) {
+      if (phase == Phase.SETTING_PARAMETERS) {
+        ParameterMap parameterMap = statement.getParameterMap();
+        return parameterMap == null ? null : parameterMap.getId();
+      }
+      return statement.getId();
+    }
+    return object;
+  }
+
+  private String getActivity() {
+    if (activity == null && phase != null) {
+      return phase.getDescription();
+    }
+    return activity;
+  }
+
+  /**
+   * The phases of a statement execution recorded with {@link #statement(MappedStatement, Phase)}.
+   *
+   * @since 3.5.6
+   */
+  public enum Phase {
+    EXECUTING_UPDATE("executing an update"),
+    EXECUTING_QUERY("executing a query"),
+    SETTING_PARAMETERS("setting parameters"),
+    HANDLING_RESULTS("handling results"),
+    HANDLING_CURSOR_RESULTS("handling cursor results");
+
+    private final String description;
+
+    Phase(String description) {
+      this.description = description;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+  }
+
 }
@@ -15,9 +15,15 @@
  */
 package org.apache.ibatis.executor.keygen;
 
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -55,34 +61,78 @@ public class SelectKeyGenerator implements KeyGenerator {
     }
   }
 
+  /**
+   * Selects the keys of all the parameter objects of a JDBC batch. The key statement is prepared once and executed
+   * again for every parameter object, instead of creating a new executor and statement for each of them. It is not
+   * collapsed into a single query: the key SQL is user supplied and returns the key of one row.
+   * <p>
+   * Keys selected before the insert are not handled here: they are needed to bind the insert, so
+   * {@link #processBefore} selects them when each insert is added to the batch.
+   *
+   * @param executor
+   *          the batch executor
+   * @param ms
+   *          the batched insert statement
+   * @param parameters
+   *          the parameter objects of the batch
+   */
+  public void processBatch(Executor executor, MappedStatement ms, List<Object> parameters) {
+    if (executeBefore || keyStatement == null || keyStatement.getKeyProperties() == null || parameters.isEmpty()) {
+      return;
+    }
+    Executor keyExecutor = newKeyExecutor(executor, ms, ExecutorType.REUSE);
+    try {
+      for (Object parameter : parameters) {
+        if (parameter != null) {
+          // the key statement usually has no parameter, so its local cache entry must not be reused
+          keyExecutor.clearLocalCache();
+          selectKeys(keyExecutor, ms, parameter);
+        }
+      }
+    } finally {
+      try {
+        // closes the reused statement
+        keyExecutor.flushStatements();
+      } catch (SQLException e) {
+        // ignore
+      }
+    }
+  }
+
   private void processGeneratedKeys(Executor executor, MappedStatement ms, Object parameter) {
+    if (parameter != null && keyStatement != null && keyStatement.getKeyProperties() != null) {
+      selectKeys(newKeyExecutor(executor, ms, ExecutorType.SIMPLE), ms, parameter);
+    }
+  }
+
+  private Executor newKeyExecutor(Executor executor, MappedStatement ms, ExecutorType executorType) {
+    // Do not close keyExecutor.
+    // The transaction will be closed by parent executor.
+    return ms.getConfiguration().newExecutor(executor.getTransaction(), executorType);
+  }
+
+  private void selectKeys(Executor keyExecutor, MappedStatement ms, Object parameter) {
     try {
-      if (parameter != null && keyStatement != null && keyStatement.getKeyProperties() != null) {
-        String[] keyProperties = keyStatement.getKeyProperties();
-        final Configuration configuration = ms.getConfiguration();
-        final MetaObject metaParam = configuration.newMetaObject(parameter);
-        // Do not close keyExecutor.
-        // The transaction will be closed by parent executor.
-        Executor keyExecutor = configuration.newExecutor(executor.getTransaction(), ExecutorType.SIMPLE);
-        List<Object> values = keyExecutor.query(keyStatement, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
-        if (values.size() == 0) {
-          throw new ExecutorException("SelectKey returned no data.");
-        } else if (values.size() > 1) {
-          throw new ExecutorException("SelectKey returned more than one value.");
-        } else {
-          MetaObject metaResult = configuration.newMetaObject(values.get(0));
-          if (keyProperties.length == 1) {
-            if (metaResult.hasGetter(keyProperties[0])) {
-              setValue(metaParam, keyProperties[0], metaResult.getValue(keyProperties[0]));
-            } else {
-              // no getter for the property - maybe just a single value object
-              // so try that
-              setValue(metaParam, keyProperties[0], values.get(0));
-            }
-          } else {
-            handleMultipleProperties(keyProperties, metaParam, metaResult);
-          }
+      String[] keyProperties = keyStatement.getKeyProperties();
+      final Configuration configuration = ms.getConfiguration();
+      List<Object> values = keyExecutor.query(keyStatement, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      Collection<?> targets = getTargets(parameter, keyProperties);
+      if (targets != null) {
+        // multi-row insert: one key per parameter object, in order
+        if (values.size() != targets.size()) {
+          throw new ExecutorException("SelectKey returned " + values.size() + " values for " + targets.size() + " parameter objects.");
         }
+        String[] properties = removePrefix(keyProperties);
+        Iterator<Object> valueIterator = values.iterator();
+        for (Object target : targets) {
+          assignKeys(configuration, properties, configuration.newMetaObject(target), valueIterator.next());
+        }
+      } else if (values.size() == 0) {
+        throw new ExecutorException("SelectKey returned no data.");
+      } else if (values.size() > 1) {
+        throw new ExecutorException("SelectKey returned more than one value.");
+      } else {
+        assignKeys(configuration, keyProperties, configuration.newMetaObject(parameter), values.get(0));
       }
     } catch (ExecutorException e) {
       throw e;
@@ -91,6 +141,83 @@ public class SelectKeyGenerator implements KeyGenerator {
     }
   }
 
+  private void assignKeys(Configuration configuration, String[] keyProperties, MetaObject metaParam, Object value) {
+    MetaObject metaResult = configuration.newMetaObject(value);
+    if (keyProperties.length == 1) {
+      if (metaResult.hasGetter(keyProperties[0])) {
+        setValue(metaParam, keyProperties[0], metaResult.getValue(keyProperties[0]));
+      } else {
+        // no getter for the property - maybe just a single value object
+        // so try that
+        setValue(metaParam, keyProperties[0], value);
+      }
+    } else {
+      handleMultipleProperties(keyProperties, metaParam, metaResult);
+    }
+  }
+
+  /**
+   * Returns the parameter objects of a multi-row insert, or {@code null} if the parameter is a single object. The
+   * parameter is a collection, an array, a map entry named by the prefix of the key properties (e.g.
+   * {@code list.id}), or the only value of a {@link ParamMap}.
+   */
+  private Collection<?> getTargets(Object parameter, String[] keyProperties) {
+    if (!(parameter instanceof Map)) {
+      return toCollection(parameter);
+    }
+    Map<?, ?> map = (Map<?, ?>) parameter;
+    String prefix = getPrefix(keyProperties);
+    if (prefix != null) {
+      return toCollection(map.get(prefix));
+    }
+    if (parameter instanceof ParamMap && !map.isEmpty()) {
+      Iterator<?> iterator = map.values().iterator();
+      Object first = iterator.next();
+      while (iterator.hasNext()) {
+        if (iterator.next() != first) {
+          return null;
+        }
+      }
+      return toCollection(first);
+    }
+    return null;
+  }
+
+  private static Collection<?> toCollection(Object value) {
+    if (value instanceof Collection) {
+      return (Collection<?>) value;
+    } else if (value instanceof Object[]) {
+      return Arrays.asList((Object[]) value);
+    }
+    return null;
+  }
+
+  private static String getPrefix(String[] keyProperties) {
+    int dot = keyProperties[0].indexOf('.');
+    if (dot < 1) {
+      return null;
+    }
+    String prefix = keyProperties[0].substring(0, dot + 1);
+    for (String keyProperty : keyProperties) {
+      if (!keyProperty.startsWith(prefix)) {
+        return null;
+      }
+    }
+    return prefix.substring(0, dot);
+  }
+
+  private static String[] removePrefix(String[] keyProperties) {
+    String prefix = getPrefix(keyProperties);
+    if (prefix == null) {
+      return keyProperties;
+    }
+    String[] properties = new String[keyProperties.length];
+    for (int i = 0; i < keyProperties.length; i++) {
+      properties[i] = keyProperties[i].substring(prefix.length() + 1);
+    }
+    return properties;
+  }
+
   private void handleMultipleProperties(String[] keyProperties,
       MetaObject metaParam, MetaObject metaResult) {
     String[] keyColumns = keyStatement.getKeyColumns();
@@ -54,6 +54,7 @@ import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.session.AutoMappingBehavior;
+import org.apache.ibatis.session.ColumnarResult;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
@@ -87,6 +88,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private final Map<CacheKey, Object> nestedResultObjects = new HashMap<>();
   private final Map<String, Object> ancestorObjects = new HashMap<>();
   private Object previousRowValue;
+  private boolean cursorResults;
 
   // multiple resultsets
   private final Map<String, ResultMapping> nextResultMaps = new HashMap<>();
@@ -179,7 +181,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   //
   @Override
   public List<Object> handleResultSets(Statement stmt) throws SQLException {
-    ErrorContext.instance().activity("handling results").object(mappedStatement.getId());
+    ErrorContext.instance().statement(mappedStatement, ErrorContext.Phase.HANDLING_RESULTS);
 
     final List<Object> multipleResults = new ArrayList<>();
 
@@ -217,7 +219,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   @Override
   public <E> Cursor<E> handleCursorResultSets(Statement stmt) throws SQLException {
-    ErrorContext.instance().activity("handling cursor results").object(mappedStatement.getId());
+    ErrorContext.instance().statement(mappedStatement, ErrorContext.Phase.HANDLING_CURSOR_RESULTS);
 
     ResultSetWrapper rsw = getFirstResultSet(stmt);
 
@@ -230,6 +232,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
 
     ResultMap resultMap = resultMaps.get(0);
+    cursorResults = true;
     return new DefaultCursor<>(this, resultMap, rsw, rowBounds);
   }
 
@@ -320,7 +323,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   //
 
   public void handleRowValues(ResultSetWrapper rsw, ResultMap resultMap, ResultHandler<?> resultHandler, RowBounds rowBounds, ResultMapping parentMapping) throws SQLException {
-    if (resultMap.hasNestedResultMaps()) {
+    if (ColumnarResult.class.equals(resultMap.getType())) {
+      handleColumnarResult(rsw, resultHandler, rowBounds, parentMapping);
+    } else if (resultMap.hasNestedResultMaps()) {
       ensureNoRowBounds();
       checkResultHandler();
       handleRowValuesForNestedResultMap(rsw, resultMap, resultHandler, rowBounds, parentMapping);
@@ -349,6 +354,15 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     DefaultResultContext<Object> resultContext = new DefaultResultContext<>();
     ResultSet resultSet = rsw.getResultSet();
     skipRows(resultSet, rowBounds);
+    if (resultMap.getDiscriminator() == null && hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
+      // single column of a simple type: resolve the column and its type handler once for all the rows
+      final String columnName = getPrimitiveResultColumnName(rsw, resultMap, null);
+      final TypeHandler<?> typeHandler = rsw.getTypeHandler(resultMap.getType(), columnName);
+      while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
+        storeObject(resultHandler, resultContext, typeHandler.getResult(resultSet, columnName), parentMapping, resultSet);
+      }
+      return;
+    }
     while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
       ResultMap discriminatedResultMap = resolveDiscriminatedResultMap(resultSet, resultMap, null);
       Object rowValue = getRowValue(rsw, discriminatedResultMap, null);
@@ -356,6 +370,25 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
   }
 
+  private void handleColumnarResult(ResultSetWrapper rsw, ResultHandler<?> resultHandler, RowBounds rowBounds, ResultMapping parentMapping)
+      throws SQLException {
+    if (cursorResults) {
+      throw new ExecutorException("Columnar results cannot be fetched with a Cursor. Use a List or the ColumnarResult itself as the return type.");
+    }
+    final List<String> columnNames = rsw.getColumnNames();
+    final List<TypeHandler<?>> typeHandlers = new ArrayList<>(columnNames.size());
+    for (String columnName : columnNames) {
+      typeHandlers.add(rsw.getTypeHandler(Object.class, columnName));
+    }
+    final ColumnarResult columnarResult = new ColumnarResult(columnNames, rsw.getJdbcTypes(), typeHandlers);
+    ResultSet resultSet = rsw.getResultSet();
+    skipRows(resultSet, rowBounds);
+    while (columnarResult.getRowCount() < rowBounds.getLimit() && !resultSet.isClosed() && resultSet.next()) {
+      columnarResult.addRow(resultSet);
+    }
+    storeObject(resultHandler, new DefaultResultContext<>(), columnarResult, parentMapping, resultSet);
+  }
+
   private void storeObject(ResultHandler<?> resultHandler, DefaultResultContext<Object> resultContext, Object rowValue, ResultMapping parentMapping, ResultSet rs) throws SQLException {
     if (parentMapping != null) {
       linkToParents(rs, parentMapping, rowValue);
@@ -743,16 +776,19 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   private Object createPrimitiveResultObject(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix) throws SQLException {
     final Class<?> resultType = resultMap.getType();
-    final String columnName;
+    final String columnName = getPrimitiveResultColumnName(rsw, resultMap, columnPrefix);
+    final TypeHandler<?> typeHandler = rsw.getTypeHandler(resultType, columnName);
+    return typeHandler.getResult(rsw.getResultSet(), columnName);
+  }
+
+  private String getPrimitiveResultColumnName(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix) {
     if (!resultMap.getResultMappings().isEmpty()) {
       final List<ResultMapping> resultMappingList = resultMap.getResultMappings();
       final ResultMapping mapping = resultMappingList.get(0);
-      columnName = prependPrefix(mapping.getColumn(), columnPrefix);
+      return prependPrefix(mapping.getColumn(), columnPrefix);
     } else {
-      columnName = rsw.getColumnNames().get(0);
+      return rsw.getColumnNames().get(0);
     }
-    final TypeHandler<?> typeHandler = rsw.getTypeHandler(resultType, columnName);
-    return typeHandler.getResult(rsw.getResultSet(), columnName);
   }
 
   //
@@ -893,13 +929,14 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     final DefaultResultContext<Object> resultContext = new DefaultResultContext<>();
     ResultSet resultSet = rsw.getResultSet();
     skipRows(resultSet, rowBounds);
+    final boolean resultOrdered = isResultOrdered();
     Object rowValue = previousRowValue;
     while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
       final ResultMap discriminatedResultMap = resolveDiscriminatedResultMap(resultSet, resultMap, null);
       final CacheKey rowKey = createRowKey(discriminatedResultMap, rsw, null);
       Object partialObject = nestedResultObjects.get(rowKey);
       // issue #577 && #542
-      if (mappedStatement.isResultOrdered()) {
+      if (resultOrdered) {
         if (partialObject == null && rowValue != null) {
           nestedResultObjects.clear();
           storeObject(resultHandler, resultContext, rowValue, parentMapping, resultSet);
@@ -912,7 +949,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         }
       }
     }
-    if (rowValue != null && mappedStatement.isResultOrdered() && shouldProcessMoreRows(resultContext, rowBounds)) {
+    if (rowValue != null && resultOrdered && shouldProcessMoreRows(resultContext, rowBounds)) {
       storeObject(resultHandler, resultContext, rowValue, parentMapping, resultSet);
       previousRowValue = null;
     } else if (rowValue != null) {
@@ -920,6 +957,16 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
   }
 
+  private boolean isResultOrdered() {
+    // streamed results only need the objects of the current group, their rows are trusted to be grouped by the root
+    // id like those of a resultOrdered statement
+    return mappedStatement.isResultOrdered() || isNestedResultStreaming();
+  }
+
+  private boolean isNestedResultStreaming() {
+    return configuration.isNestedResultStreaming() && (resultHandler != null || cursorResults);
+  }
+
   //
   // NESTED RESULT MAP (JOIN MAPPING)
   //
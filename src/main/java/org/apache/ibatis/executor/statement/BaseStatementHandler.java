@@ -22,7 +22,9 @@ import java.sql.Statement;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
 import org.apache.ibatis.mapping.BoundSql;
@@ -137,9 +139,13 @@ public abstract class BaseStatementHandler implements StatementHandler {
 
   protected void generateKeys(Object parameter) {
     KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
-    ErrorContext.instance().store();
+    if (NoKeyGenerator.class.equals(keyGenerator.getClass()) || Jdbc3KeyGenerator.class.equals(keyGenerator.getClass())) {
+      // nothing runs before the statement, so no nested error context is needed
+      return;
+    }
+    ErrorContext errorContext = ErrorContext.instance().store();
     keyGenerator.processBefore(executor, mappedStatement, null, parameter);
-    ErrorContext.instance().recall();
+    errorContext.recall();
   }
 
 }
@@ -0,0 +1,120 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * An annotation processor that writes the names of all compiled classes to the class index read by
+ * {@link ResolverUtil}, so that {@code <package>} elements for type aliases, type handlers and mappers
+ * do not need to scan the class path at startup.
+ * <p>
+ * The processor is not registered as a service and must be enabled explicitly, e.g. with
+ * {@code -processor org.apache.ibatis.io.ClassIndexProcessor}. A class index is only used for a package when every
+ * class path location containing the package has an index listing it; other packages are still scanned. Classes of an
+ * index already present in the class output (e.g. after an incremental compilation) are kept in the new index.
+ * <p>
+ * The compiler only runs the processor when the compiled sources use a MyBatis annotation (e.g. {@code @Mapper},
+ * {@code @Select} or {@code @Alias}), which it claims; it then indexes every compiled class, annotated or not.
+ * Without such an annotation no index is written and the packages are scanned.
+ *
+ * @since 3.5.6
+ */
+@SupportedAnnotationTypes({ "org.apache.ibatis.annotations.*", "org.apache.ibatis.type.Alias",
+    "org.apache.ibatis.type.MappedTypes", "org.apache.ibatis.type.MappedJdbcTypes" })
+public class ClassIndexProcessor extends AbstractProcessor {
+
+  private final Set<String> classNames = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      writeIndex();
+    } else {
+      for (Element element : roundEnv.getRootElements()) {
+        addClassNames(element);
+      }
+    }
+    return true;
+  }
+
+  private void addClassNames(Element element) {
+    if (element instanceof TypeElement) {
+      classNames.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+      for (Element enclosedElement : element.getEnclosedElements()) {
+        addClassNames(enclosedElement);
+      }
+    }
+  }
+
+  private void writeIndex() {
+    if (classNames.isEmpty()) {
+      return;
+    }
+    readPreviousIndex();
+    try {
+      FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ResolverUtil.CLASS_INDEX_LOCATION);
+      try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+        for (String className : classNames) {
+          writer.write(className);
+          writer.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Could not write the class index " + ResolverUtil.CLASS_INDEX_LOCATION + ". Cause: " + e);
+    }
+  }
+
+  private void readPreviousIndex() {
+    try {
+      FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", ResolverUtil.CLASS_INDEX_LOCATION);
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openInputStream(), StandardCharsets.UTF_8))) {
+        for (String line; (line = reader.readLine()) != null;) {
+          String className = line.trim();
+          if (!className.isEmpty()) {
+            classNames.add(className);
+          }
+        }
+      }
+    } catch (IOException e) {
+      // no previous index
+    }
+  }
+
+}
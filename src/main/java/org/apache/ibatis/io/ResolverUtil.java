@@ -15,11 +15,26 @@
  */
 package org.apache.ibatis.io;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
@@ -65,6 +80,20 @@ public class ResolverUtil<T> {
    */
   private static final Log log = LogFactory.getLog(ResolverUtil.class);
 
+  /**
+   * The location of the class index resources generated by {@link ClassIndexProcessor}.
+   * When every class path location containing a package has a class index listing classes of that package,
+   * the package is not scanned with the {@link VFS}.
+   *
+   * @since 3.5.6
+   */
+  public static final String CLASS_INDEX_LOCATION = "META-INF/mybatis/classes.index";
+
+  /**
+   * The parsed class indexes visible to each class loader.
+   */
+  private static final Map<ClassLoader, ClassIndexes> classIndexes = Collections.synchronizedMap(new WeakHashMap<>());
+
   /**
    * A simple interface that specifies how to test classes to determine if they
    * are to be included in the results produced by the ResolverUtil.
@@ -247,6 +276,14 @@ public class ResolverUtil<T> {
     String path = getPackagePath(packageName);
 
     try {
+      List<String> indexedClasses = findIndexedClasses(packageName);
+      if (!indexedClasses.isEmpty()) {
+        for (String indexedClass : indexedClasses) {
+          addIfMatching(test, indexedClass.replace('.', '/') + ".class");
+        }
+        return this;
+      }
+
       List<String> children = VFS.getInstance().list(path);
       for (String child : children) {
         if (child.endsWith(".class")) {
@@ -260,6 +297,109 @@ public class ResolverUtil<T> {
     return this;
   }
 
+  /**
+   * Returns the names of the classes listed for the package provided (including subpackages) in the class
+   * indexes visible to the class loader. The indexes are only used when every class path location containing
+   * the package has an index listing classes of that package, so that classes of locations without an index
+   * (e.g. a third-party jar or a directory that was not compiled with the {@link ClassIndexProcessor}) are not hidden.
+   * As a jar without directory entries is not returned by {@link ClassLoader#getResources(String)} for a package,
+   * the entries of the jars without an index are checked as well.
+   *
+   * @param packageName
+   *          the name of the package, e.g. {@code net.sourceforge.stripes}
+   * @return the fully qualified binary names of the indexed classes, or an empty list when the package must be scanned
+   * @throws IOException
+   *           if a class index cannot be read
+   * @since 3.5.6
+   */
+  protected List<String> findIndexedClasses(String packageName) throws IOException {
+    ClassLoader loader = getClassLoader();
+    if (packageName == null || loader == null) {
+      return Collections.emptyList();
+    }
+    ClassIndexes indexes = getClassIndexes(loader);
+    String path = getPackagePath(packageName);
+    if (indexes.classNames.isEmpty() || indexes.hasUnindexedClasses(path)) {
+      return Collections.emptyList();
+    }
+    String prefix = packageName + ".";
+    List<String> classNames = new ArrayList<>();
+    Enumeration<URL> locations = loader.getResources(path);
+    while (locations.hasMoreElements()) {
+      NavigableSet<String> index = indexes.classNames.get(getClassPathRoot(locations.nextElement(), path));
+      Set<String> indexedClasses = index == null ? Collections.emptySet()
+          : index.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+      if (indexedClasses.isEmpty()) {
+        return Collections.emptyList();
+      }
+      classNames.addAll(indexedClasses);
+    }
+    return classNames;
+  }
+
+  private static ClassIndexes getClassIndexes(ClassLoader loader) throws IOException {
+    ClassIndexes indexes = classIndexes.get(loader);
+    if (indexes == null) {
+      indexes = readClassIndexes(loader);
+      classIndexes.put(loader, indexes);
+    }
+    return indexes;
+  }
+
+  private static ClassIndexes readClassIndexes(ClassLoader loader) throws IOException {
+    Map<String, NavigableSet<String>> indexes = new HashMap<>();
+    Enumeration<URL> resources = loader.getResources(CLASS_INDEX_LOCATION);
+    while (resources.hasMoreElements()) {
+      URL resource = resources.nextElement();
+      if (log.isDebugEnabled()) {
+        log.debug("Reading class index " + resource);
+      }
+      NavigableSet<String> classNames = new TreeSet<>();
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+        for (String line; (line = reader.readLine()) != null;) {
+          String className = line.trim();
+          if (!className.isEmpty()) {
+            classNames.add(className);
+          }
+        }
+      }
+      indexes.put(getClassPathRoot(resource, CLASS_INDEX_LOCATION), classNames);
+    }
+    List<URL> unindexedJars = new ArrayList<>();
+    if (!indexes.isEmpty()) {
+      // the jars of the JDK never contain the packages of an application
+      Set<String> platformJars = new HashSet<>();
+      ClassLoader platformLoader = ClassLoader.getSystemClassLoader().getParent();
+      if (platformLoader != null && platformLoader != loader) {
+        Enumeration<URL> manifests = platformLoader.getResources(JarFile.MANIFEST_NAME);
+        while (manifests.hasMoreElements()) {
+          platformJars.add(getClassPathRoot(manifests.nextElement(), JarFile.MANIFEST_NAME));
+        }
+      }
+      Enumeration<URL> manifests = loader.getResources(JarFile.MANIFEST_NAME);
+      while (manifests.hasMoreElements()) {
+        URL manifest = manifests.nextElement();
+        String root = getClassPathRoot(manifest, JarFile.MANIFEST_NAME);
+        if ("jar".equals(manifest.getProtocol()) && !indexes.containsKey(root) && !platformJars.contains(root)) {
+          unindexedJars.add(new URL(root));
+        }
+      }
+    }
+    return new ClassIndexes(indexes, unindexedJars);
+  }
+
+  /**
+   * Returns the class path location (directory or jar) of a resource, e.g. {@code jar:file:/app.jar!/}
+   * for {@code jar:file:/app.jar!/org/apache/ibatis}.
+   */
+  private static String getClassPathRoot(URL resource, String path) {
+    String url = resource.toExternalForm();
+    if (url.endsWith("/")) {
+      url = url.substring(0, url.length() - 1);
+    }
+    return url.endsWith(path) ? url.substring(0, url.length() - path.length()) : url;
+  }
+
   /**
    * Converts a Java package name to a path that can be looked up with a call to
    * {@link ClassLoader#getResources(String)}.
@@ -297,4 +437,56 @@ public class ResolverUtil<T> {
           + t.getClass().getName() + " with message: " + t.getMessage());
     }
   }
+
+  /**
+   * The class indexes visible to a class loader, and the jars it can load classes from that have no index.
+   */
+  private static class ClassIndexes {
+
+    /**
+     * The classes listed by the index of each class path location.
+     */
+    private final Map<String, NavigableSet<String>> classNames;
+    private final List<URL> unindexedJars;
+    private NavigableSet<String> unindexedPackagePaths;
+
+    ClassIndexes(Map<String, NavigableSet<String>> classNames, List<URL> unindexedJars) {
+      this.classNames = classNames;
+      this.unindexedJars = unindexedJars;
+    }
+
+    /**
+     * Returns whether a jar without an index contains classes of the package or of its subpackages. The entries of
+     * these jars are only read once, the first time an indexed package is looked up.
+     */
+    synchronized boolean hasUnindexedClasses(String path) throws IOException {
+      if (unindexedPackagePaths == null) {
+        unindexedPackagePaths = readPackagePaths(unindexedJars);
+      }
+      String subpackagePath = unindexedPackagePaths.ceiling(path + "/");
+      return unindexedPackagePaths.contains(path) || subpackagePath != null && subpackagePath.startsWith(path + "/");
+    }
+
+    private static NavigableSet<String> readPackagePaths(List<URL> jars) throws IOException {
+      NavigableSet<String> packagePaths = new TreeSet<>();
+      for (URL jar : jars) {
+        if (log.isDebugEnabled()) {
+          log.debug("Listing the packages of " + jar + " which has no class index");
+        }
+        JarURLConnection connection = (JarURLConnection) jar.openConnection();
+        connection.setUseCaches(false);
+        try (JarFile jarFile = connection.getJarFile()) {
+          Enumeration<JarEntry> entries = jarFile.entries();
+          while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            int lastSlash = name.lastIndexOf('/');
+            if (lastSlash > 0 && name.endsWith(".class")) {
+              packagePaths.add(name.substring(0, lastSlash));
+            }
+          }
+        }
+      }
+      return packagePaths;
+    }
+  }
 }
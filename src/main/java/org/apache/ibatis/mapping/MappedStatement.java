@@ -56,6 +56,7 @@ public final class MappedStatement {
   private Log statementLog;
   private LanguageDriver lang;
   private String[] resultSets;
+  private int bulkSize;
 
   MappedStatement() {
     // constructor disabled
@@ -169,6 +170,11 @@ public final class MappedStatement {
       return this;
     }
 
+    public Builder bulkSize(int bulkSize) {
+      mappedStatement.bulkSize = bulkSize;
+      return this;
+    }
+
     public Builder resultSets(String resultSet) {
       mappedStatement.resultSets = delimitedStringToArray(resultSet);
       return this;
@@ -290,6 +296,17 @@ public final class MappedStatement {
     return resultSets;
   }
 
+  /**
+   * Gets the maximum number of rows inserted by one statement when this single-row insert is executed with a
+   * collection or an array.
+   *
+   * @return the bulk size, or 0 if bulk inserts are disabled
+   * @since 3.5.6
+   */
+  public int getBulkSize() {
+    return bulkSize;
+  }
+
   /**
    * Gets the resul sets.
    *
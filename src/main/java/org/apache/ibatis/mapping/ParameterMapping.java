@@ -18,6 +18,7 @@ package org.apache.ibatis.mapping;
 import java.sql.ResultSet;
 
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.ArrayTypeHandler;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
@@ -126,6 +127,11 @@ public class ParameterMapping {
         Configuration configuration = parameterMapping.configuration;
         TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
         parameterMapping.typeHandler = typeHandlerRegistry.getTypeHandler(parameterMapping.javaType, parameterMapping.jdbcType);
+        if (parameterMapping.typeHandler != null && parameterMapping.typeHandler.getClass() == ArrayTypeHandler.class
+            && parameterMapping.jdbcTypeName != null && parameterMapping.mode == ParameterMode.IN) {
+          // the type name of an input ARRAY is the type of its elements
+          parameterMapping.typeHandler = new ArrayTypeHandler(parameterMapping.jdbcTypeName);
+        }
       }
     }
 
@@ -26,6 +26,7 @@ import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathFactory;
@@ -46,6 +47,12 @@ import org.xml.sax.SAXParseException;
  */
 public class XPathParser {
 
+  // JAXP factories are looked up through the service loader on every newInstance() call, which is costly
+  // when thousands of mapper files are parsed. They are created once and shared, but they are not guaranteed
+  // to be thread-safe, so every use is synchronized on the factory.
+  private static final DocumentBuilderFactory[] DOCUMENT_BUILDER_FACTORIES = new DocumentBuilderFactory[2];
+  private static final XPathFactory XPATH_FACTORY = XPathFactory.newInstance();
+
   private final Document document;
   private boolean validation;
   private EntityResolver entityResolver;
@@ -230,17 +237,7 @@ public class XPathParser {
   private Document createDocument(InputSource inputSource) {
     // important: this must only be called AFTER common constructor
     try {
-      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-      factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-      factory.setValidating(validation);
-
-      factory.setNamespaceAware(false);
-      factory.setIgnoringComments(true);
-      factory.setIgnoringElementContentWhitespace(false);
-      factory.setCoalescing(false);
-      factory.setExpandEntityReferences(true);
-
-      DocumentBuilder builder = factory.newDocumentBuilder();
+      DocumentBuilder builder = newDocumentBuilder(validation);
       builder.setEntityResolver(entityResolver);
       builder.setErrorHandler(new ErrorHandler() {
         @Override
@@ -264,12 +261,33 @@ public class XPathParser {
     }
   }
 
+  private static DocumentBuilder newDocumentBuilder(boolean validation) throws ParserConfigurationException {
+    synchronized (DOCUMENT_BUILDER_FACTORIES) {
+      int index = validation ? 1 : 0;
+      DocumentBuilderFactory factory = DOCUMENT_BUILDER_FACTORIES[index];
+      if (factory == null) {
+        factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setValidating(validation);
+
+        factory.setNamespaceAware(false);
+        factory.setIgnoringComments(true);
+        factory.setIgnoringElementContentWhitespace(false);
+        factory.setCoalescing(false);
+        factory.setExpandEntityReferences(true);
+        DOCUMENT_BUILDER_FACTORIES[index] = factory;
+      }
+      return factory.newDocumentBuilder();
+    }
+  }
+
   private void commonConstructor(boolean validation, Properties variables, EntityResolver entityResolver) {
     this.validation = validation;
     this.entityResolver = entityResolver;
     this.variables = variables;
-    XPathFactory factory = XPathFactory.newInstance();
-    this.xpath = factory.newXPath();
+    synchronized (XPATH_FACTORY) {
+      this.xpath = XPATH_FACTORY.newXPath();
+    }
   }
 
 }
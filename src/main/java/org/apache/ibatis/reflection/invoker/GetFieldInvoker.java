@@ -15,8 +15,10 @@
  */
 package org.apache.ibatis.reflection.invoker;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 
+import org.apache.ibatis.reflection.ReflectionException;
 import org.apache.ibatis.reflection.Reflector;
 
 /**
@@ -24,13 +26,24 @@ import org.apache.ibatis.reflection.Reflector;
  */
 public class GetFieldInvoker implements Invoker {
   private final Field field;
+  private final MethodHandle getter;
 
   public GetFieldInvoker(Field field) {
     this.field = field;
+    this.getter = MethodHandleFactory.forGetter(field);
   }
 
   @Override
   public Object invoke(Object target, Object[] args) throws IllegalAccessException {
+    if (getter != null && MethodHandleFactory.isTarget(field, target)) {
+      try {
+        return (Object) getter.invokeExact(target);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not get field '" + field.getName() + "'. Cause: " + t, t);
+      }
+    }
     try {
       return field.get(target);
     } catch (IllegalAccessException e) {
@@ -0,0 +1,139 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Creates the method handles used by the invokers.
+ * <p>
+ * Handles are adapted to a generic type taking the target and returning an {@code Object}, so that they can be
+ * called with {@code invokeExact} without an argument array. When a handle cannot be created, e.g. because the
+ * member is not accessible, {@code null} is returned and the invoker falls back to reflection.
+ */
+final class MethodHandleFactory {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private MethodHandleFactory() {
+    // Prevent Instantiation
+  }
+
+  static MethodHandle forMethod(Method method) {
+    if (method.getParameterTypes().length > 1) {
+      return null;
+    }
+    try {
+      return adapt(method, LOOKUP.unreflect(method));
+    } catch (IllegalAccessException e) {
+      if (makeAccessible(method)) {
+        try {
+          return adapt(method, LOOKUP.unreflect(method));
+        } catch (IllegalAccessException e2) {
+          // fall back to reflection
+        }
+      }
+      return null;
+    }
+  }
+
+  static MethodHandle forGetter(Field field) {
+    try {
+      return adapt(field, LOOKUP.unreflectGetter(field));
+    } catch (IllegalAccessException e) {
+      if (makeAccessible(field)) {
+        try {
+          return adapt(field, LOOKUP.unreflectGetter(field));
+        } catch (IllegalAccessException e2) {
+          // fall back to reflection
+        }
+      }
+      return null;
+    }
+  }
+
+  static MethodHandle forSetter(Field field) {
+    if (Modifier.isFinal(field.getModifiers())) {
+      return null;
+    }
+    try {
+      return adapt(field, LOOKUP.unreflectSetter(field));
+    } catch (IllegalAccessException e) {
+      if (makeAccessible(field)) {
+        try {
+          return adapt(field, LOOKUP.unreflectSetter(field));
+        } catch (IllegalAccessException e2) {
+          // fall back to reflection
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Returns whether a value can be passed to a generic handle the same way reflection would pass it.
+   * Values that need a widening primitive conversion or that reflection rejects are left to reflection,
+   * so that the same conversions are applied and the same exceptions are thrown.
+   */
+  static boolean isExactArgument(Class<?> parameterType, Object value) {
+    if (parameterType.isPrimitive()) {
+      return value != null && MethodType.methodType(parameterType).wrap().returnType() == value.getClass();
+    }
+    return value == null || parameterType.isInstance(value);
+  }
+
+  /**
+   * Returns whether a target can be passed to a generic handle of a member. Reflection throws a
+   * {@code NullPointerException} or an {@code IllegalArgumentException} for any other target, so such targets are
+   * left to reflection as well.
+   */
+  static boolean isTarget(Member member, Object target) {
+    return Modifier.isStatic(member.getModifiers()) || member.getDeclaringClass().isInstance(target);
+  }
+
+  private static MethodHandle adapt(Member member, MethodHandle handle) {
+    // reflection passes the array of a varargs method as is, it must not be collected again
+    handle = handle.asFixedArity();
+    if (Modifier.isStatic(member.getModifiers())) {
+      // reflection ignores the target of static members
+      handle = MethodHandles.dropArguments(handle, 0, Object.class);
+    }
+    return handle.asType(MethodType.genericMethodType(handle.type().parameterCount()));
+  }
+
+  private static boolean makeAccessible(AccessibleObject member) {
+    if (!Reflector.canControlMemberAccessible()) {
+      return false;
+    }
+    try {
+      member.setAccessible(true);
+      return true;
+    } catch (RuntimeException e) {
+      // e.g. the member belongs to a module that is not opened
+      return false;
+    }
+  }
+
+}
@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.reflection.invoker;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
@@ -27,19 +28,38 @@ public class MethodInvoker implements Invoker {
 
   private final Class<?> type;
   private final Method method;
+  private final MethodHandle methodHandle;
+  private final int parameterCount;
 
   public MethodInvoker(Method method) {
     this.method = method;
+    this.parameterCount = method.getParameterTypes().length;
 
-    if (method.getParameterTypes().length == 1) {
+    if (parameterCount == 1) {
       type = method.getParameterTypes()[0];
     } else {
       type = method.getReturnType();
     }
+    this.methodHandle = MethodHandleFactory.forMethod(method);
   }
 
   @Override
   public Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException {
+    if (methodHandle != null && MethodHandleFactory.isTarget(method, target)) {
+      if (parameterCount == 0 && (args == null || args.length == 0)) {
+        try {
+          return (Object) methodHandle.invokeExact(target);
+        } catch (Throwable t) {
+          throw new InvocationTargetException(t);
+        }
+      } else if (parameterCount == 1 && args != null && args.length == 1 && MethodHandleFactory.isExactArgument(type, args[0])) {
+        try {
+          return (Object) methodHandle.invokeExact(target, args[0]);
+        } catch (Throwable t) {
+          throw new InvocationTargetException(t);
+        }
+      }
+    }
     try {
       return method.invoke(target, args);
     } catch (IllegalAccessException e) {
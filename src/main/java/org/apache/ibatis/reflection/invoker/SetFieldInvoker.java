@@ -15,8 +15,10 @@
  */
 package org.apache.ibatis.reflection.invoker;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 
+import org.apache.ibatis.reflection.ReflectionException;
 import org.apache.ibatis.reflection.Reflector;
 
 /**
@@ -24,13 +26,24 @@ import org.apache.ibatis.reflection.Reflector;
  */
 public class SetFieldInvoker implements Invoker {
   private final Field field;
+  private final MethodHandle setter;
 
   public SetFieldInvoker(Field field) {
     this.field = field;
+    this.setter = MethodHandleFactory.forSetter(field);
   }
 
   @Override
   public Object invoke(Object target, Object[] args) throws IllegalAccessException {
+    if (setter != null && MethodHandleFactory.isTarget(field, target) && MethodHandleFactory.isExactArgument(field.getType(), args[0])) {
+      try {
+        return (Object) setter.invokeExact(target, args[0]);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not set field '" + field.getName() + "'. Cause: " + t, t);
+      }
+    }
     try {
       field.set(target, args[0]);
     } catch (IllegalAccessException e) {
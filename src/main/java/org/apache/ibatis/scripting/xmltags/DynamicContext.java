@@ -17,7 +17,6 @@ package org.apache.ibatis.scripting.xmltags;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.StringJoiner;
 
 import ognl.OgnlContext;
 import ognl.OgnlRuntime;
@@ -39,17 +38,21 @@ public class DynamicContext {
   }
 
   private final ContextMap bindings;
-  private final StringJoiner sqlBuilder = new StringJoiner(" ");
+  private final int sqlLengthHint;
+  private StringBuilder sqlBuilder;
   private int uniqueNumber = 0;
 
   public DynamicContext(Configuration configuration, Object parameterObject) {
-    if (parameterObject != null && !(parameterObject instanceof Map)) {
-      MetaObject metaObject = configuration.newMetaObject(parameterObject);
-      boolean existsTypeHandler = configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass());
-      bindings = new ContextMap(metaObject, existsTypeHandler);
-    } else {
-      bindings = new ContextMap(null, false);
-    }
+    this(configuration, parameterObject, 0);
+  }
+
+  /**
+   * @param sqlLengthHint
+   *          the expected length of the rendered SQL, used to size the buffer it is appended to
+   */
+  DynamicContext(Configuration configuration, Object parameterObject, int sqlLengthHint) {
+    this.sqlLengthHint = sqlLengthHint;
+    bindings = new ContextMap(configuration, parameterObject);
     bindings.put(PARAMETER_OBJECT_KEY, parameterObject);
     bindings.put(DATABASE_ID_KEY, configuration.getDatabaseId());
   }
@@ -63,11 +66,27 @@ public class DynamicContext {
   }
 
   public void appendSql(String sql) {
-    sqlBuilder.add(sql);
+    if (sqlBuilder == null) {
+      sqlBuilder = new StringBuilder(Math.max(sqlLengthHint, sql.length() + 16));
+    } else {
+      sqlBuilder.append(' ');
+    }
+    sqlBuilder.append(sql);
   }
 
   public String getSql() {
-    return sqlBuilder.toString().trim();
+    if (sqlBuilder == null) {
+      return "";
+    }
+    int start = 0;
+    int end = sqlBuilder.length();
+    while (start < end && sqlBuilder.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && sqlBuilder.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    return sqlBuilder.substring(start, end);
   }
 
   public int getUniqueNumber() {
@@ -76,31 +95,56 @@ public class DynamicContext {
 
   static class ContextMap extends HashMap<String, Object> {
     private static final long serialVersionUID = 2977601501966151582L;
-    private final MetaObject parameterMetaObject;
-    private final boolean fallbackParameterObject;
+    private final Configuration configuration;
+    private final Object parameterObject;
+    private MetaObject parameterMetaObject;
+    private boolean fallbackParameterObject;
+    private transient OgnlContext ognlContext;
+
+    /**
+     * The {@link MetaObject} of a bean parameter is only created when a binding that is not in this map is looked
+     * up, so statements that never read a parameter property do not pay for it.
+     */
+    public ContextMap(Configuration configuration, Object parameterObject) {
+      this.configuration = configuration;
+      this.parameterObject = parameterObject instanceof Map ? null : parameterObject;
+    }
+
+    OgnlContext getOgnlContext() {
+      return ognlContext;
+    }
 
-    public ContextMap(MetaObject parameterMetaObject, boolean fallbackParameterObject) {
-      this.parameterMetaObject = parameterMetaObject;
-      this.fallbackParameterObject = fallbackParameterObject;
+    void setOgnlContext(OgnlContext ognlContext) {
+      this.ognlContext = ognlContext;
     }
 
     @Override
     public Object get(Object key) {
       String strKey = (String) key;
-      if (super.containsKey(strKey)) {
-        return super.get(strKey);
+      Object value = super.get(strKey);
+      if (value != null || super.containsKey(strKey)) {
+        return value;
       }
 
-      if (parameterMetaObject == null) {
+      MetaObject metaObject = getParameterMetaObject();
+      if (metaObject == null) {
         return null;
       }
 
-      if (fallbackParameterObject && !parameterMetaObject.hasGetter(strKey)) {
-        return parameterMetaObject.getOriginalObject();
+      if (fallbackParameterObject && !metaObject.hasGetter(strKey)) {
+        return metaObject.getOriginalObject();
       } else {
         // issue #61 do not modify the context when reading
-        return parameterMetaObject.getValue(strKey);
+        return metaObject.getValue(strKey);
+      }
+    }
+
+    private MetaObject getParameterMetaObject() {
+      if (parameterMetaObject == null && parameterObject != null) {
+        parameterMetaObject = configuration.newMetaObject(parameterObject);
+        fallbackParameterObject = configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass());
       }
+      return parameterMetaObject;
     }
   }
 
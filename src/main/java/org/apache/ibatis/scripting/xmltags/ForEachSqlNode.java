@@ -57,30 +57,28 @@ public class ForEachSqlNode implements SqlNode {
     }
     boolean first = true;
     applyOpen(context);
+    // the same contexts are reset for every item instead of creating new ones
+    PrefixedContext prefixedContext = new PrefixedContext(context);
+    FilteredDynamicContext filteredContext = new FilteredDynamicContext(configuration, prefixedContext, index, item);
     int i = 0;
     for (Object o : iterable) {
-      DynamicContext oldContext = context;
-      if (first || separator == null) {
-        context = new PrefixedContext(context, "");
-      } else {
-        context = new PrefixedContext(context, separator);
-      }
-      int uniqueNumber = context.getUniqueNumber();
+      prefixedContext.reset(first || separator == null ? "" : separator);
+      int uniqueNumber = prefixedContext.getUniqueNumber();
       // Issue #709
       if (o instanceof Map.Entry) {
         @SuppressWarnings("unchecked")
         Map.Entry<Object, Object> mapEntry = (Map.Entry<Object, Object>) o;
-        applyIndex(context, mapEntry.getKey(), uniqueNumber);
-        applyItem(context, mapEntry.getValue(), uniqueNumber);
+        applyIndex(prefixedContext, mapEntry.getKey(), uniqueNumber);
+        applyItem(prefixedContext, mapEntry.getValue(), uniqueNumber);
       } else {
-        applyIndex(context, i, uniqueNumber);
-        applyItem(context, o, uniqueNumber);
+        applyIndex(prefixedContext, i, uniqueNumber);
+        applyItem(prefixedContext, o, uniqueNumber);
       }
-      contents.apply(new FilteredDynamicContext(configuration, context, index, item, uniqueNumber));
+      filteredContext.setIndex(uniqueNumber);
+      contents.apply(filteredContext);
       if (first) {
-        first = !((PrefixedContext) context).isPrefixApplied();
+        first = !prefixedContext.isPrefixApplied();
       }
-      context = oldContext;
       i++;
     }
     applyClose(context);
@@ -121,16 +119,21 @@ public class ForEachSqlNode implements SqlNode {
 
   private static class FilteredDynamicContext extends DynamicContext {
     private final DynamicContext delegate;
-    private final int index;
     private final String itemIndex;
     private final String item;
+    private final GenericTokenParser parser;
+    private int index;
 
-    public FilteredDynamicContext(Configuration configuration,DynamicContext delegate, String itemIndex, String item, int i) {
+    public FilteredDynamicContext(Configuration configuration, DynamicContext delegate, String itemIndex, String item) {
       super(configuration, null);
       this.delegate = delegate;
-      this.index = i;
       this.itemIndex = itemIndex;
       this.item = item;
+      this.parser = new GenericTokenParser("#{", "}", this::itemizeToken);
+    }
+
+    public void setIndex(int index) {
+      this.index = index;
     }
 
     @Override
@@ -150,15 +153,49 @@ public class ForEachSqlNode implements SqlNode {
 
     @Override
     public void appendSql(String sql) {
-      GenericTokenParser parser = new GenericTokenParser("#{", "}", content -> {
-        String newContent = content.replaceFirst("^\\s*" + item + "(?![^.,:\\s])", itemizeItem(item, index));
-        if (itemIndex != null && newContent.equals(content)) {
-          newContent = content.replaceFirst("^\\s*" + itemIndex + "(?![^.,:\\s])", itemizeItem(itemIndex, index));
+      if (sql != null && sql.indexOf("#{") < 0) {
+        delegate.appendSql(sql);
+      } else {
+        delegate.appendSql(parser.parse(sql));
+      }
+    }
+
+    private String itemizeToken(String content) {
+      String newContent = itemizeVariable(content, item);
+      if (itemIndex != null && newContent == content) {
+        newContent = itemizeVariable(content, itemIndex);
+      }
+      return "#{" + newContent + "}";
+    }
+
+    /**
+     * Replaces the variable at the start of a token (like {@code item} in {@code #{item.id, jdbcType=INTEGER}}) with
+     * its name in the current iteration. Same as matching {@code ^\s*variable(?![^.,:\s])}, without regular
+     * expressions.
+     */
+    private String itemizeVariable(String content, String variable) {
+      if (variable == null) {
+        return content;
+      }
+      int start = 0;
+      while (start < content.length() && isWhitespace(content.charAt(start))) {
+        start++;
+      }
+      if (!content.startsWith(variable, start)) {
+        return content;
+      }
+      int end = start + variable.length();
+      if (end < content.length()) {
+        char next = content.charAt(end);
+        if (next != '.' && next != ',' && next != ':' && !isWhitespace(next)) {
+          return content;
         }
-        return "#{" + newContent + "}";
-      });
+      }
+      return itemizeItem(variable, index) + content.substring(end);
+    }
 
-      delegate.appendSql(parser.parse(sql));
+    private static boolean isWhitespace(char c) {
+      return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
     @Override
@@ -171,12 +208,15 @@ public class ForEachSqlNode implements SqlNode {
 
   private class PrefixedContext extends DynamicContext {
     private final DynamicContext delegate;
-    private final String prefix;
+    private String prefix;
     private boolean prefixApplied;
 
-    public PrefixedContext(DynamicContext delegate, String prefix) {
+    public PrefixedContext(DynamicContext delegate) {
       super(configuration, null);
       this.delegate = delegate;
+    }
+
+    public void reset(String prefix) {
       this.prefix = prefix;
       this.prefixApplied = false;
     }
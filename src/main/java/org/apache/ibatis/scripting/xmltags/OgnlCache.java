@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import ognl.Ognl;
+import ognl.OgnlContext;
 import ognl.OgnlException;
 
 import org.apache.ibatis.builder.BuilderException;
@@ -42,13 +43,33 @@ public final class OgnlCache {
 
   public static Object getValue(String expression, Object root) {
     try {
-      Map context = Ognl.createDefaultContext(root, MEMBER_ACCESS, CLASS_RESOLVER, null);
-      return Ognl.getValue(parseExpression(expression), context, root);
+      return Ognl.getValue(parseExpression(expression), getContext(root), root);
     } catch (OgnlException e) {
       throw new BuilderException("Error evaluating expression '" + expression + "'. Cause: " + e, e);
     }
   }
 
+  /**
+   * The bindings of a {@link DynamicContext} are evaluated many times while one statement is built,
+   * so they keep the OGNL context created for them instead of allocating a new one per expression.
+   */
+  private static OgnlContext getContext(Object root) {
+    if (root instanceof DynamicContext.ContextMap) {
+      DynamicContext.ContextMap bindings = (DynamicContext.ContextMap) root;
+      OgnlContext context = bindings.getOgnlContext();
+      if (context == null) {
+        context = createContext(root);
+        bindings.setOgnlContext(context);
+      }
+      return context;
+    }
+    return createContext(root);
+  }
+
+  private static OgnlContext createContext(Object root) {
+    return (OgnlContext) Ognl.createDefaultContext(root, MEMBER_ACCESS, CLASS_RESOLVER, null);
+  }
+
   private static Object parseExpression(String expression) throws OgnlException {
     Object node = expressionCache.get(expression);
     if (node == null) {
@@ -15,6 +15,8 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.apache.ibatis.parsing.GenericTokenParser;
@@ -26,8 +28,15 @@ import org.apache.ibatis.type.SimpleTypeRegistry;
  * @author Clinton Begin
  */
 public class TextSqlNode implements SqlNode {
+  private static final char EXPRESSION_MARKER = '\u0000';
+
   private final String text;
   private final Pattern injectionFilter;
+  /**
+   * The text split once into literals (even indexes) and ${} expressions (odd indexes), or {@code null} if the text
+   * contains the marker character used to split it.
+   */
+  private final String[] segments;
 
   public TextSqlNode(String text) {
     this(text, null);
@@ -36,9 +45,13 @@ public class TextSqlNode implements SqlNode {
   public TextSqlNode(String text, Pattern injectionFilter) {
     this.text = text;
     this.injectionFilter = injectionFilter;
+    this.segments = split(text);
   }
 
   public boolean isDynamic() {
+    if (segments != null) {
+      return segments.length > 1;
+    }
     DynamicCheckerTokenParser checker = new DynamicCheckerTokenParser();
     GenericTokenParser parser = createParser(checker);
     parser.parse(text);
@@ -47,11 +60,45 @@ public class TextSqlNode implements SqlNode {
 
   @Override
   public boolean apply(DynamicContext context) {
-    GenericTokenParser parser = createParser(new BindingTokenParser(context, injectionFilter));
-    context.appendSql(parser.parse(text));
+    BindingTokenParser handler = new BindingTokenParser(context, injectionFilter);
+    if (segments == null) {
+      context.appendSql(createParser(handler).parse(text));
+      return true;
+    }
+    if (segments.length == 1) {
+      context.appendSql(segments[0]);
+      return true;
+    }
+    StringBuilder sql = new StringBuilder(text.length());
+    for (int i = 0; i < segments.length; i++) {
+      sql.append((i & 1) == 0 ? segments[i] : handler.handleToken(segments[i]));
+    }
+    context.appendSql(sql.toString());
     return true;
   }
 
+  private String[] split(String text) {
+    if (text != null && text.indexOf(EXPRESSION_MARKER) >= 0) {
+      return null;
+    }
+    // the parser resolves escaped tokens, each expression is replaced with a marker
+    List<String> expressions = new ArrayList<>();
+    String literals = createParser(content -> {
+      expressions.add(content);
+      return String.valueOf(EXPRESSION_MARKER);
+    }).parse(text);
+    String[] segments = new String[expressions.size() * 2 + 1];
+    int offset = 0;
+    for (int i = 0; i < expressions.size(); i++) {
+      int marker = literals.indexOf(EXPRESSION_MARKER, offset);
+      segments[i * 2] = literals.substring(offset, marker);
+      segments[i * 2 + 1] = expressions.get(i);
+      offset = marker + 1;
+    }
+    segments[segments.length - 1] = literals.substring(offset);
+    return segments;
+  }
+
   private GenericTokenParser createParser(TokenHandler handler) {
     return new GenericTokenParser("${", "}", handler);
   }
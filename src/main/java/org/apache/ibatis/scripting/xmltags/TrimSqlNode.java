@@ -71,26 +71,40 @@ public class TrimSqlNode implements SqlNode {
 
   private class FilteredDynamicContext extends DynamicContext {
     private DynamicContext delegate;
-    private boolean prefixApplied;
-    private boolean suffixApplied;
     private StringBuilder sqlBuffer;
 
     public FilteredDynamicContext(DynamicContext delegate) {
       super(configuration, null);
       this.delegate = delegate;
-      this.prefixApplied = false;
-      this.suffixApplied = false;
       this.sqlBuffer = new StringBuilder();
     }
 
     public void applyAll() {
-      sqlBuffer = new StringBuilder(sqlBuffer.toString().trim());
-      String trimmedUppercaseSql = sqlBuffer.toString().toUpperCase(Locale.ENGLISH);
-      if (trimmedUppercaseSql.length() > 0) {
-        applyPrefix(sqlBuffer, trimmedUppercaseSql);
-        applySuffix(sqlBuffer, trimmedUppercaseSql);
+      // works on the bounds of the trimmed sql instead of trimmed and upper cased copies
+      int start = 0;
+      int end = sqlBuffer.length();
+      while (start < end && sqlBuffer.charAt(start) <= ' ') {
+        start++;
       }
-      delegate.appendSql(sqlBuffer.toString());
+      while (end > start && sqlBuffer.charAt(end - 1) <= ' ') {
+        end--;
+      }
+      if (start == end) {
+        delegate.appendSql("");
+        return;
+      }
+      int bodyStart = start + prefixLengthToRemove(start, end);
+      int bodyEnd = Math.max(bodyStart, end - suffixLengthToRemove(start, end));
+      StringBuilder sql = new StringBuilder(bodyEnd - bodyStart
+          + (prefix == null ? 0 : prefix.length() + 1) + (suffix == null ? 0 : suffix.length() + 1));
+      if (prefix != null) {
+        sql.append(prefix).append(' ');
+      }
+      sql.append(sqlBuffer, bodyStart, bodyEnd);
+      if (suffix != null) {
+        sql.append(' ').append(suffix);
+      }
+      delegate.appendSql(sql.toString());
     }
 
     @Override
@@ -118,42 +132,44 @@ public class TrimSqlNode implements SqlNode {
       return delegate.getSql();
     }
 
-    private void applyPrefix(StringBuilder sql, String trimmedUppercaseSql) {
-      if (!prefixApplied) {
-        prefixApplied = true;
-        if (prefixesToOverride != null) {
-          for (String toRemove : prefixesToOverride) {
-            if (trimmedUppercaseSql.startsWith(toRemove)) {
-              sql.delete(0, toRemove.trim().length());
-              break;
-            }
+    private int prefixLengthToRemove(int start, int end) {
+      if (prefixesToOverride != null) {
+        for (String toRemove : prefixesToOverride) {
+          if (regionMatches(start, end, start, toRemove)) {
+            return toRemove.trim().length();
           }
         }
-        if (prefix != null) {
-          sql.insert(0, " ");
-          sql.insert(0, prefix);
-        }
       }
+      return 0;
     }
 
-    private void applySuffix(StringBuilder sql, String trimmedUppercaseSql) {
-      if (!suffixApplied) {
-        suffixApplied = true;
-        if (suffixesToOverride != null) {
-          for (String toRemove : suffixesToOverride) {
-            if (trimmedUppercaseSql.endsWith(toRemove) || trimmedUppercaseSql.endsWith(toRemove.trim())) {
-              int start = sql.length() - toRemove.trim().length();
-              int end = sql.length();
-              sql.delete(start, end);
-              break;
-            }
+    private int suffixLengthToRemove(int start, int end) {
+      if (suffixesToOverride != null) {
+        for (String toRemove : suffixesToOverride) {
+          String trimmed = toRemove.trim();
+          if (regionMatches(start, end, end - toRemove.length(), toRemove)
+              || regionMatches(start, end, end - trimmed.length(), trimmed)) {
+            return trimmed.length();
           }
         }
-        if (suffix != null) {
-          sql.append(" ");
-          sql.append(suffix);
+      }
+      return 0;
+    }
+
+    /**
+     * Tests whether the buffer contains an upper cased override at the given offset, ignoring case and staying within
+     * the bounds of the trimmed sql.
+     */
+    private boolean regionMatches(int start, int end, int offset, String upperCaseToken) {
+      if (offset < start || offset + upperCaseToken.length() > end) {
+        return false;
+      }
+      for (int i = 0; i < upperCaseToken.length(); i++) {
+        if (Character.toUpperCase(sqlBuffer.charAt(offset + i)) != upperCaseToken.charAt(i)) {
+          return false;
         }
       }
+      return true;
     }
 
   }
@@ -0,0 +1,340 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.type.ByteTypeHandler;
+import org.apache.ibatis.type.DoubleTypeHandler;
+import org.apache.ibatis.type.FloatTypeHandler;
+import org.apache.ibatis.type.IntegerTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.LongTypeHandler;
+import org.apache.ibatis.type.ShortTypeHandler;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * A query result stored column by column instead of row by row. Use it as the result type of a select to fetch large
+ * result sets (e.g. for reports) without creating one object per row.
+ * <p>
+ * {@code INTEGER}, {@code SMALLINT} and {@code TINYINT} columns are stored in an {@code int[]}, {@code BIGINT} columns
+ * in a {@code long[]}, {@code DOUBLE}, {@code FLOAT} and {@code REAL} columns in a {@code double[]}, all read with the
+ * primitive JDBC getters, as long as the column uses the built-in {@link TypeHandler} of its type. Any other column,
+ * including one mapped by a custom type handler, is stored in an {@code Object[]} filled by its {@link TypeHandler}.
+ *
+ * @since 3.5.6
+ */
+public class ColumnarResult {
+
+  private static final int INITIAL_CAPACITY = 16;
+  // some VMs reserve header words in an array
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  private final List<String> columnNames;
+  private final List<JdbcType> jdbcTypes;
+  private final Column[] columns;
+  private int rowCount;
+
+  public ColumnarResult(List<String> columnNames, List<JdbcType> jdbcTypes, List<TypeHandler<?>> typeHandlers) {
+    this.columnNames = Collections.unmodifiableList(new ArrayList<>(columnNames));
+    this.jdbcTypes = Collections.unmodifiableList(new ArrayList<>(jdbcTypes));
+    this.columns = new Column[columnNames.size()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = newColumn(i + 1, jdbcTypes.get(i), typeHandlers.get(i));
+    }
+  }
+
+  /**
+   * Appends the current row of the result set.
+   *
+   * @param rs
+   *          a result set positioned on a row
+   * @throws SQLException
+   *           if a column cannot be read
+   */
+  public void addRow(ResultSet rs) throws SQLException {
+    for (Column column : columns) {
+      column.read(rs, rowCount);
+    }
+    rowCount++;
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  public List<String> getColumnNames() {
+    return columnNames;
+  }
+
+  public List<JdbcType> getJdbcTypes() {
+    return jdbcTypes;
+  }
+
+  /**
+   * Gets the index of a column.
+   *
+   * @param columnName
+   *          the column name, case insensitive
+   * @return the zero-based index of the column, or -1 if there is no such column
+   */
+  public int getColumnIndex(String columnName) {
+    for (int i = 0; i < columnNames.size(); i++) {
+      if (columnNames.get(i).equalsIgnoreCase(columnName)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets a copy of the values of a column. The returned array has exactly {@link #getRowCount()} elements.
+   *
+   * @param columnIndex
+   *          the zero-based index of the column
+   * @return an {@code int[]}, {@code long[]}, {@code double[]} or {@code Object[]}
+   */
+  public Object getColumn(int columnIndex) {
+    return columns[columnIndex].values(rowCount);
+  }
+
+  public Object getColumn(String columnName) {
+    int columnIndex = getColumnIndex(columnName);
+    if (columnIndex < 0) {
+      throw new IllegalArgumentException("There is no column named '" + columnName + "' in " + columnNames + ".");
+    }
+    return getColumn(columnIndex);
+  }
+
+  public boolean isNull(int columnIndex, int row) {
+    return columns[columnIndex].isNull(row);
+  }
+
+  /**
+   * Gets a single value. Primitive values are boxed, so prefer {@link #getColumn(int)} to read whole columns.
+   *
+   * @param columnIndex
+   *          the zero-based index of the column
+   * @param row
+   *          the zero-based index of the row
+   * @return the value, or {@code null} if the database returned SQL NULL
+   */
+  public Object getValue(int columnIndex, int row) {
+    if (row >= rowCount) {
+      throw new IndexOutOfBoundsException("Row: " + row + ", row count: " + rowCount);
+    }
+    Column column = columns[columnIndex];
+    return column.isNull(row) ? null : column.get(row);
+  }
+
+  private static Column newColumn(int index, JdbcType jdbcType, TypeHandler<?> typeHandler) {
+    if (jdbcType != null && typeHandler != null) {
+      // the primitive getters would bypass a custom type handler
+      Class<?> typeHandlerClass = typeHandler.getClass();
+      switch (jdbcType) {
+        case INTEGER:
+        case SMALLINT:
+        case TINYINT:
+          if (typeHandlerClass == IntegerTypeHandler.class || typeHandlerClass == ShortTypeHandler.class
+              || typeHandlerClass == ByteTypeHandler.class) {
+            return new IntColumn(index);
+          }
+          break;
+        case BIGINT:
+          if (typeHandlerClass == LongTypeHandler.class) {
+            return new LongColumn(index);
+          }
+          break;
+        case DOUBLE:
+        case FLOAT:
+        case REAL:
+          if (typeHandlerClass == DoubleTypeHandler.class || typeHandlerClass == FloatTypeHandler.class) {
+            return new DoubleColumn(index);
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    return new ObjectColumn(index, typeHandler);
+  }
+
+  static int newCapacity(int size) {
+    if (size >= MAX_CAPACITY) {
+      throw new IllegalStateException("A columnar result cannot hold more than " + MAX_CAPACITY + " rows.");
+    }
+    return (int) Math.min(MAX_CAPACITY, Math.max(INITIAL_CAPACITY, size * 2L));
+  }
+
+  private abstract static class Column {
+
+    protected final int index;
+    private final BitSet nulls = new BitSet();
+
+    Column(int index) {
+      this.index = index;
+    }
+
+    void read(ResultSet rs, int row) throws SQLException {
+      readValue(rs, row);
+      if (rs.wasNull()) {
+        nulls.set(row);
+      }
+    }
+
+    boolean isNull(int row) {
+      return nulls.get(row);
+    }
+
+    abstract void readValue(ResultSet rs, int row) throws SQLException;
+
+    abstract Object values(int rowCount);
+
+    abstract Object get(int row);
+  }
+
+  private static class IntColumn extends Column {
+
+    private int[] values = new int[INITIAL_CAPACITY];
+
+    IntColumn(int index) {
+      super(index);
+    }
+
+    @Override
+    void readValue(ResultSet rs, int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, newCapacity(row));
+      }
+      values[row] = rs.getInt(index);
+    }
+
+    @Override
+    Object values(int rowCount) {
+      return Arrays.copyOf(values, rowCount);
+    }
+
+    @Override
+    Object get(int row) {
+      return values[row];
+    }
+  }
+
+  private static class LongColumn extends Column {
+
+    private long[] values = new long[INITIAL_CAPACITY];
+
+    LongColumn(int index) {
+      super(index);
+    }
+
+    @Override
+    void readValue(ResultSet rs, int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, newCapacity(row));
+      }
+      values[row] = rs.getLong(index);
+    }
+
+    @Override
+    Object values(int rowCount) {
+      return Arrays.copyOf(values, rowCount);
+    }
+
+    @Override
+    Object get(int row) {
+      return values[row];
+    }
+  }
+
+  private static class DoubleColumn extends Column {
+
+    private double[] values = new double[INITIAL_CAPACITY];
+
+    DoubleColumn(int index) {
+      super(index);
+    }
+
+    @Override
+    void readValue(ResultSet rs, int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, newCapacity(row));
+      }
+      values[row] = rs.getDouble(index);
+    }
+
+    @Override
+    Object values(int rowCount) {
+      return Arrays.copyOf(values, rowCount);
+    }
+
+    @Override
+    Object get(int row) {
+      return values[row];
+    }
+  }
+
+  private static class ObjectColumn extends Column {
+
+    private final TypeHandler<?> typeHandler;
+    private Object[] values = new Object[INITIAL_CAPACITY];
+
+    ObjectColumn(int index, TypeHandler<?> typeHandler) {
+      super(index);
+      this.typeHandler = typeHandler;
+    }
+
+    @Override
+    void read(ResultSet rs, int row) throws SQLException {
+      // type handlers already map SQL NULL to null
+      readValue(rs, row);
+    }
+
+    @Override
+    boolean isNull(int row) {
+      return values[row] == null;
+    }
+
+    @Override
+    void readValue(ResultSet rs, int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, newCapacity(row));
+      }
+      values[row] = typeHandler.getResult(rs, index);
+    }
+
+    @Override
+    Object values(int rowCount) {
+      return Arrays.copyOf(values, rowCount);
+    }
+
+    @Override
+    Object get(int row) {
+      return values[row];
+    }
+  }
+
+}
@@ -15,16 +15,23 @@
  */
 package org.apache.ibatis.session;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
 import org.apache.ibatis.binding.MapperRegistry;
@@ -40,6 +47,7 @@ import org.apache.ibatis.cache.decorators.SoftCache;
 import org.apache.ibatis.cache.decorators.WeakCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.datasource.jndi.JndiDataSourceFactory;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
 import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSourceFactory;
 import org.apache.ibatis.executor.BatchExecutor;
@@ -48,6 +56,7 @@ import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ReuseExecutor;
 import org.apache.ibatis.executor.SimpleExecutor;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.SelectKeyGenerator;
 import org.apache.ibatis.executor.loader.ProxyFactory;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
 import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
@@ -114,6 +123,9 @@ public class Configuration {
   protected boolean useActualParamName = true;
   protected boolean returnInstanceForEmptyRow;
   protected boolean shrinkWhitespacesInSql;
+  protected boolean parallelMapperParsing;
+  protected boolean lazyStatementBuilding;
+  protected boolean nestedResultStreaming;
 
   protected String logPrefix;
   protected Class<? extends Log> logImpl;
@@ -133,6 +145,7 @@ public class Configuration {
   protected ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
   protected ObjectFactory objectFactory = new DefaultObjectFactory();
   protected ObjectWrapperFactory objectWrapperFactory = new DefaultObjectWrapperFactory();
+  protected volatile ExecutorService asyncExecutorService;
 
   protected boolean lazyLoadingEnabled = false;
   protected ProxyFactory proxyFactory = new JavassistProxyFactory(); // #224 Using internal Javassist instead of OGNL
@@ -168,6 +181,13 @@ public class Configuration {
   protected final Collection<ResultMapResolver> incompleteResultMaps = new LinkedList<>();
   protected final Collection<MethodResolver> incompleteMethods = new LinkedList<>();
 
+  /*
+   * Statement builders waiting to be built on first use when lazy statement building is enabled,
+   * keyed by fully qualified statement id, and the statements already handed out in that mode.
+   */
+  protected final Map<String, List<XMLStatementBuilder>> lazyStatements = new LinkedHashMap<>();
+  protected final Map<String, MappedStatement> lazyBuiltStatements = new ConcurrentHashMap<>();
+
   /*
    * A map holds cache-ref relationship. The key is the namespace that
    * references a cache bound to another namespace and the value is the
@@ -297,6 +317,85 @@ public class Configuration {
     this.shrinkWhitespacesInSql = shrinkWhitespacesInSql;
   }
 
+  /**
+   * Gets whether mapper XML files are parsed concurrently while building the configuration.
+   *
+   * @return true if mapper XML files are parsed concurrently
+   * @since 3.5.6
+   */
+  public boolean isParallelMapperParsing() {
+    return parallelMapperParsing;
+  }
+
+  /**
+   * Sets whether mapper XML files are parsed concurrently while building the configuration.
+   * <p>
+   * Only the XML parsing is done concurrently. Statements, result maps and caches are always registered
+   * in the order the mappers are declared.
+   *
+   * @param parallelMapperParsing
+   *          true if mapper XML files are parsed concurrently
+   * @since 3.5.6
+   */
+  public void setParallelMapperParsing(boolean parallelMapperParsing) {
+    this.parallelMapperParsing = parallelMapperParsing;
+  }
+
+  /**
+   * Gets whether statements declared in mapper XML files are built on first use.
+   *
+   * @return true if statements are built on first use
+   * @since 3.5.6
+   */
+  public boolean isLazyStatementBuilding() {
+    return lazyStatementBuilding;
+  }
+
+  /**
+   * Sets whether statements declared in mapper XML files are built on first use.
+   * <p>
+   * Mapper files are still parsed at startup, but the SQL source and the mapped statement of each
+   * select, insert, update and delete element are only built when the statement is first requested.
+   * Errors in a statement, such as a duplicated id, are therefore reported on first use.
+   *
+   * @param lazyStatementBuilding
+   *          true if statements are built on first use
+   * @since 3.5.6
+   */
+  public void setLazyStatementBuilding(boolean lazyStatementBuilding) {
+    this.lazyStatementBuilding = lazyStatementBuilding;
+  }
+
+  /**
+   * Gets whether nested result maps are streamed to result handlers and cursors as if every statement was
+   * {@code resultOrdered}.
+   *
+   * @return true if nested results are streamed
+   * @since 3.5.6
+   */
+  public boolean isNestedResultStreaming() {
+    return nestedResultStreaming;
+  }
+
+  /**
+   * Sets whether nested result maps are streamed to result handlers and cursors as if every statement was
+   * {@code resultOrdered}.
+   * <p>
+   * Rows of a joined query must then be grouped by the id columns of the root result map. A root object is handed to
+   * the {@link ResultHandler} or {@link org.apache.ibatis.cursor.Cursor} as soon as a row with another id is read, and
+   * the partial objects of its group are released, so only one group stays in memory. As with {@code resultOrdered},
+   * the grouping is trusted and not checked: a row whose root id was already streamed starts a new root object.
+   * Queries returning a list are not affected, and a custom result handler still requires
+   * {@code safeResultHandlerEnabled=false} unless the statement is {@code resultOrdered}.
+   *
+   * @param nestedResultStreaming
+   *          true if nested results are streamed
+   * @since 3.5.6
+   */
+  public void setNestedResultStreaming(boolean nestedResultStreaming) {
+    this.nestedResultStreaming = nestedResultStreaming;
+  }
+
   public String getDatabaseId() {
     return databaseId;
   }
@@ -585,6 +684,60 @@ public class Configuration {
     this.objectWrapperFactory = objectWrapperFactory;
   }
 
+  /**
+   * Gets the executor service that runs asynchronous queries.
+   * <p>
+   * If none was set, a bounded one is created on first use. It runs as many queries at once as the
+   * {@link PooledDataSource} of the environment has active connections, or as there are processors for other data
+   * sources, on daemon threads that end after a minute without work.
+   *
+   * @return the executor service
+   * @since 3.5.6
+   * @see SqlSessionFactory#parallel()
+   */
+  public ExecutorService getAsyncExecutorService() {
+    ExecutorService executorService = asyncExecutorService;
+    if (executorService == null) {
+      synchronized (this) {
+        executorService = asyncExecutorService;
+        if (executorService == null) {
+          executorService = newDefaultAsyncExecutorService();
+          asyncExecutorService = executorService;
+        }
+      }
+    }
+    return executorService;
+  }
+
+  private ExecutorService newDefaultAsyncExecutorService() {
+    int threads = Runtime.getRuntime().availableProcessors();
+    if (environment != null && environment.getDataSource() instanceof PooledDataSource) {
+      threads = ((PooledDataSource) environment.getDataSource()).getPoolMaximumActiveConnections();
+    }
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+        new LinkedBlockingQueue<>(), runnable -> {
+          Thread thread = new Thread(runnable, "mybatis-async-query");
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Sets the executor service that runs asynchronous queries.
+   * <p>
+   * Each query holds a connection while it runs, so the number of threads should not exceed the size of the
+   * connection pool. An executor service creating one virtual thread per task is a good fit on recent JVMs.
+   *
+   * @param asyncExecutorService
+   *          the executor service, or {@code null} to use the default bounded one
+   * @since 3.5.6
+   */
+  public void setAsyncExecutorService(ExecutorService asyncExecutorService) {
+    this.asyncExecutorService = asyncExecutorService;
+  }
+
   /**
    * Gets the interceptors.
    *
@@ -766,16 +919,24 @@ public class Configuration {
   }
 
   public void addMappedStatement(MappedStatement ms) {
-    mappedStatements.put(ms.getId(), ms);
+    if (lazyStatementBuilding) {
+      synchronized (lazyStatements) {
+        mappedStatements.put(ms.getId(), ms);
+      }
+    } else {
+      mappedStatements.put(ms.getId(), ms);
+    }
   }
 
   public Collection<String> getMappedStatementNames() {
     buildAllStatements();
+    buildAllLazyStatements();
     return mappedStatements.keySet();
   }
 
   public Collection<MappedStatement> getMappedStatements() {
     buildAllStatements();
+    buildAllLazyStatements();
     return mappedStatements.values();
   }
 
@@ -811,6 +972,21 @@ public class Configuration {
     return incompleteMethods;
   }
 
+  /**
+   * Registers a statement builder that is run the first time the statement is requested.
+   *
+   * @param id
+   *          the fully qualified statement id
+   * @param statementBuilder
+   *          the statement builder
+   * @since 3.5.6
+   */
+  public void addLazyStatement(String id, XMLStatementBuilder statementBuilder) {
+    synchronized (lazyStatements) {
+      lazyStatements.computeIfAbsent(id, k -> new ArrayList<>()).add(statementBuilder);
+    }
+  }
+
   public MappedStatement getMappedStatement(String id) {
     return this.getMappedStatement(id, true);
   }
@@ -818,6 +994,14 @@ public class Configuration {
   public MappedStatement getMappedStatement(String id, boolean validateIncompleteStatements) {
     if (validateIncompleteStatements) {
       buildAllStatements();
+      if (lazyStatementBuilding) {
+        return getLazyStatement(id);
+      }
+    }
+    if (lazyStatementBuilding) {
+      synchronized (lazyStatements) {
+        return mappedStatements.get(id);
+      }
     }
     return mappedStatements.get(id);
   }
@@ -857,6 +1041,20 @@ public class Configuration {
   public boolean hasStatement(String statementName, boolean validateIncompleteStatements) {
     if (validateIncompleteStatements) {
       buildAllStatements();
+      if (lazyStatementBuilding) {
+        if (lazyBuiltStatements.containsKey(statementName)) {
+          return true;
+        }
+        synchronized (lazyStatements) {
+          buildLazyStatement(statementName);
+          return mappedStatements.containsKey(statementName);
+        }
+      }
+    }
+    if (lazyStatementBuilding) {
+      synchronized (lazyStatements) {
+        return mappedStatements.containsKey(statementName);
+      }
     }
     return mappedStatements.containsKey(statementName);
   }
@@ -895,6 +1093,70 @@ public class Configuration {
     }
   }
 
+  /*
+   * Statements are published through a concurrent map once built. When lazy statement building is enabled, the
+   * statements map itself and the lazy statements are only read and written while holding the lock of the lazy
+   * statements, until all of them have been built.
+   */
+  private MappedStatement getLazyStatement(String id) {
+    MappedStatement ms = lazyBuiltStatements.get(id);
+    if (ms == null) {
+      synchronized (lazyStatements) {
+        buildLazyStatement(id);
+        ms = mappedStatements.get(id);
+        lazyBuiltStatements.put(id, ms);
+      }
+    }
+    return ms;
+  }
+
+  private void buildLazyStatement(String id) {
+    if (lazyStatements.isEmpty()) {
+      return;
+    }
+    List<String> ids = new ArrayList<>();
+    if (lazyStatements.containsKey(id)) {
+      ids.add(id);
+    } else if (id.endsWith(SelectKeyGenerator.SELECT_KEY_SUFFIX)) {
+      ids.add(id.substring(0, id.length() - SelectKeyGenerator.SELECT_KEY_SUFFIX.length()));
+    } else if (id.indexOf('.') < 0) {
+      // short name, build every statement it may refer to so that ambiguities are detected
+      for (String lazyId : lazyStatements.keySet()) {
+        if (lazyId.endsWith("." + id)) {
+          ids.add(lazyId);
+        }
+      }
+    }
+    for (String lazyId : ids) {
+      List<XMLStatementBuilder> statementBuilders = lazyStatements.get(lazyId);
+      if (statementBuilders != null) {
+        parseLazyStatements(statementBuilders);
+        lazyStatements.remove(lazyId);
+      }
+    }
+  }
+
+  private void buildAllLazyStatements() {
+    // once this returns, statements are no longer added lazily, so the statements map can be iterated
+    synchronized (lazyStatements) {
+      Iterator<List<XMLStatementBuilder>> iterator = lazyStatements.values().iterator();
+      while (iterator.hasNext()) {
+        parseLazyStatements(iterator.next());
+        iterator.remove();
+      }
+    }
+  }
+
+  private static void parseLazyStatements(List<XMLStatementBuilder> statementBuilders) {
+    // a builder is only discarded once its statement is built, so a statement that cannot be built yet (e.g. its
+    // result map is added later) fails again on the next request instead of being lost
+    Iterator<XMLStatementBuilder> iterator = statementBuilders.iterator();
+    while (iterator.hasNext()) {
+      iterator.next().parseStatementNode();
+      iterator.remove();
+    }
+  }
+
   private void parsePendingResultMaps() {
     if (incompleteResultMaps.isEmpty()) {
       return;
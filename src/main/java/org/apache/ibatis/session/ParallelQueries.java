@@ -0,0 +1,157 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.ibatis.exceptions.ExceptionFactory;
+
+/**
+ * Runs independent queries concurrently instead of one after the other.
+ * <p>
+ * Every query runs on its own {@link SqlSession} opened in auto-commit mode from the
+ * {@link SqlSessionFactory}, so it uses its own connection, goes through the same plugins and reads and fills the
+ * second level caches as usual. Changes not yet committed by the calling session are not visible to these queries.
+ * The connection is made read-only while the query runs, so a statement changing data fails (on drivers honoring
+ * {@link java.sql.Connection#setReadOnly(boolean)}) instead of being committed outside of any transaction of the caller.
+ *
+ * <pre>
+ * ParallelQueries parallel = sqlSessionFactory.parallel();
+ * CompletableFuture&lt;Author&gt; author = parallel.selectOne("selectAuthor", id);
+ * CompletableFuture&lt;List&lt;Post&gt;&gt; posts = parallel.mapper(PostMapper.class, mapper -&gt; mapper.selectPostsByAuthor(id));
+ * CompletableFuture.allOf(author, posts).join();
+ * </pre>
+ *
+ * @since 3.5.6
+ * @see SqlSessionFactory#parallel()
+ * @see Configuration#getAsyncExecutorService()
+ */
+public class ParallelQueries {
+
+  private final SqlSessionFactory sqlSessionFactory;
+  private final Executor executor;
+
+  public ParallelQueries(SqlSessionFactory sqlSessionFactory) {
+    this(sqlSessionFactory, sqlSessionFactory.getConfiguration().getAsyncExecutorService());
+  }
+
+  /**
+   * Instantiates a new parallel queries.
+   *
+   * @param sqlSessionFactory
+   *          the factory opening a session for each query
+   * @param executor
+   *          the executor running the queries. As every query holds a connection while it runs, it should not run
+   *          more queries at once than the data source has connections.
+   */
+  public ParallelQueries(SqlSessionFactory sqlSessionFactory, Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("An executor is required to run parallel queries.");
+    }
+    this.sqlSessionFactory = sqlSessionFactory;
+    this.executor = executor;
+  }
+
+  public <T> CompletableFuture<T> selectOne(String statement) {
+    return submit(session -> session.selectOne(statement));
+  }
+
+  public <T> CompletableFuture<T> selectOne(String statement, Object parameter) {
+    return submit(session -> session.selectOne(statement, parameter));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement) {
+    return submit(session -> session.selectList(statement));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter) {
+    return submit(session -> session.selectList(statement, parameter));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter, RowBounds rowBounds) {
+    return submit(session -> session.selectList(statement, parameter, rowBounds));
+  }
+
+  public <K, V> CompletableFuture<Map<K, V>> selectMap(String statement, Object parameter, String mapKey) {
+    return submit(session -> session.selectMap(statement, parameter, mapKey));
+  }
+
+  /**
+   * Runs a query through a mapper.
+   *
+   * @param <M>
+   *          the mapper type
+   * @param <R>
+   *          the result type
+   * @param type
+   *          the mapper interface
+   * @param query
+   *          the query to run on the mapper
+   * @return the future result of the query
+   */
+  public <M, R> CompletableFuture<R> mapper(Class<M> type, Function<M, R> query) {
+    return submit(session -> query.apply(session.getMapper(type)));
+  }
+
+  /**
+   * Runs a query on a new session whose connection is read-only. The session is committed when the query succeeds,
+   * which only puts its results in the second level caches, and always closed.
+   *
+   * @param <T>
+   *          the result type
+   * @param query
+   *          the query to run
+   * @return the future result of the query
+   */
+  public <T> CompletableFuture<T> submit(Function<SqlSession, T> query) {
+    Supplier<T> task = () -> {
+      try (SqlSession session = sqlSessionFactory.openSession(true)) {
+        Connection connection = session.getConnection();
+        boolean readOnly = setReadOnly(connection, true);
+        try {
+          T result = query.apply(session);
+          // puts the results in the second level caches
+          session.commit();
+          return result;
+        } finally {
+          // the connection may go back to a pool
+          setReadOnly(connection, readOnly);
+        }
+      }
+    };
+    return CompletableFuture.supplyAsync(task, executor);
+  }
+
+  private static boolean setReadOnly(Connection connection, boolean readOnly) {
+    try {
+      boolean previous = connection.isReadOnly();
+      if (previous != readOnly) {
+        connection.setReadOnly(readOnly);
+      }
+      return previous;
+    } catch (SQLException e) {
+      throw ExceptionFactory.wrapException("Error setting the read-only mode of the connection. Cause: " + e, e);
+    }
+  }
+
+}
@@ -43,4 +43,15 @@ public interface SqlSessionFactory {
 
   Configuration getConfiguration();
 
+  /**
+   * Returns a helper that runs independent queries concurrently, each on its own session opened from this factory.
+   *
+   * @return the parallel queries
+   * @since 3.5.6
+   * @see Configuration#getAsyncExecutorService()
+   */
+  default ParallelQueries parallel() {
+    return new ParallelQueries(this);
+  }
+
 }
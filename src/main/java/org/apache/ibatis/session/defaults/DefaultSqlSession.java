@@ -24,9 +24,12 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.builder.BulkInsertSqlSource;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.exceptions.ExceptionFactory;
 import org.apache.ibatis.exceptions.TooManyResultsException;
+import org.apache.ibatis.executor.BatchExecutor;
 import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
@@ -38,6 +41,7 @@ import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 
 /**
  * The default implementation for {@link SqlSession}.
@@ -51,14 +55,34 @@ public class DefaultSqlSession implements SqlSession {
   private final Executor executor;
 
   private final boolean autoCommit;
+  private final SqlSessionFactory sqlSessionFactory;
   private boolean dirty;
   private List<Cursor<?>> cursorList;
 
-  public DefaultSqlSession(Configuration configuration, Executor executor, boolean autoCommit) {
+  /**
+   * Instantiates a new session.
+   *
+   * @param configuration
+   *          the configuration
+   * @param executor
+   *          the executor
+   * @param autoCommit
+   *          the auto commit
+   * @param sqlSessionFactory
+   *          the factory that opened the session, used to run the mapper methods returning a
+   *          {@link java.util.concurrent.CompletableFuture}
+   * @since 3.5.6
+   */
+  public DefaultSqlSession(Configuration configuration, Executor executor, boolean autoCommit, SqlSessionFactory sqlSessionFactory) {
     this.configuration = configuration;
     this.executor = executor;
     this.dirty = false;
     this.autoCommit = autoCommit;
+    this.sqlSessionFactory = sqlSessionFactory;
+  }
+
+  public DefaultSqlSession(Configuration configuration, Executor executor, boolean autoCommit) {
+    this(configuration, executor, autoCommit, null);
   }
 
   public DefaultSqlSession(Configuration configuration, Executor executor) {
@@ -194,6 +218,12 @@ public class DefaultSqlSession implements SqlSession {
     try {
       dirty = true;
       MappedStatement ms = configuration.getMappedStatement(statement);
+      if (ms.getBulkSize() > 0) {
+        List<?> rows = BulkInsertSqlSource.getRows(parameter);
+        if (rows != null) {
+          return bulkInsert(ms, parameter, rows);
+        }
+      }
       return executor.update(ms, wrapCollection(parameter));
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error updating database.  Cause: " + e, e);
@@ -202,6 +232,17 @@ public class DefaultSqlSession implements SqlSession {
     }
   }
 
+  private int bulkInsert(MappedStatement ms, Object parameter, List<?> rows) throws SQLException {
+    int count = 0;
+    for (int start = 0; start < rows.size(); start += ms.getBulkSize()) {
+      List<?> chunk = rows.subList(start, Math.min(start + ms.getBulkSize(), rows.size()));
+      int updated = executor.update(ms, wrapChunk(parameter, chunk));
+      // the batch executor does not know the update count yet
+      count = updated == BatchExecutor.BATCH_UPDATE_RETURN_VALUE ? updated : count + updated;
+    }
+    return count;
+  }
+
   @Override
   public int delete(String statement) {
     return update(statement, null);
@@ -286,6 +327,16 @@ public class DefaultSqlSession implements SqlSession {
     return configuration;
   }
 
+  /**
+   * Gets the factory that opened this session.
+   *
+   * @return the factory, or {@code null} if the session was created directly
+   * @since 3.5.6
+   */
+  public SqlSessionFactory getSqlSessionFactory() {
+    return sqlSessionFactory;
+  }
+
   @Override
   public <T> T getMapper(Class<T> type) {
     return configuration.getMapper(type, this);
@@ -320,6 +371,21 @@ public class DefaultSqlSession implements SqlSession {
     return ParamNameResolver.wrapToMapIfCollection(object, null);
   }
 
+  /**
+   * Binds a chunk of the rows of a bulk insert under the names the rows were bound to, e.g. the names given by the
+   * {@link ParamNameResolver} of a mapper method.
+   */
+  private Object wrapChunk(Object parameter, List<?> chunk) {
+    if (!(parameter instanceof ParamMap)) {
+      return wrapCollection(chunk);
+    }
+    ParamMap<Object> param = new ParamMap<>();
+    for (String name : ((ParamMap<?>) parameter).keySet()) {
+      param.put(name, chunk);
+    }
+    return param;
+  }
+
   /**
    * @deprecated Since 3.5.5
    */
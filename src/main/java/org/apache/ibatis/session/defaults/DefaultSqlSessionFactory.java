@@ -101,7 +101,7 @@ public class DefaultSqlSessionFactory implements SqlSessionFactory {
       //拿到事务后，根据事务和执行器类型创建一个真正的执行器实例，获取执行器逻辑如下行代码
       final Executor executor = configuration.newExecutor(tx, execType);
       //拿到执行器之后，new一个DefaultSqlSession并返回，这样就创建了一个SqlSession，它从逻辑上代表了一个封装了事务特性的连接
-      return new DefaultSqlSession(configuration, executor, autoCommit);
+      return new DefaultSqlSession(configuration, executor, autoCommit, this);
     } catch (Exception e) {
       //如果此期间发生异常，则调用关闭事务（因为此时事务底层的连接可能已经持有了，否则会导致连接泄露）
       closeTransaction(tx); // may have fetched a connection so lets call close()
@@ -125,7 +125,7 @@ public class DefaultSqlSessionFactory implements SqlSessionFactory {
       final TransactionFactory transactionFactory = getTransactionFactoryFromEnvironment(environment);
       final Transaction tx = transactionFactory.newTransaction(connection);
       final Executor executor = configuration.newExecutor(tx, execType);
-      return new DefaultSqlSession(configuration, executor, autoCommit);
+      return new DefaultSqlSession(configuration, executor, autoCommit, this);
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error opening session.  Cause: " + e, e);
     } finally {
@@ -31,6 +31,7 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -72,8 +73,22 @@ public class ArrayTypeHandler extends BaseTypeHandler<Object> {
     STANDARD_MAPPING.put(URL.class, JdbcType.DATALINK.name());
   }
 
+  private final String componentTypeName;
+
   public ArrayTypeHandler() {
+    this(null);
+  }
+
+  /**
+   * Creates a handler that binds arrays and collections with the given SQL type name for their elements.
+   *
+   * @param componentTypeName
+   *          the SQL type name of the elements passed to {@link java.sql.Connection#createArrayOf(String, Object[])}
+   * @since 3.5.6
+   */
+  public ArrayTypeHandler(String componentTypeName) {
     super();
+    this.componentTypeName = componentTypeName;
   }
 
   @Override
@@ -83,19 +98,51 @@ public class ArrayTypeHandler extends BaseTypeHandler<Object> {
       // it's the user's responsibility to properly free() the Array instance
       ps.setArray(i, (Array) parameter);
     } else {
-      if (!parameter.getClass().isArray()) {
+      final Object[] elements;
+      final Class<?> componentType;
+      if (parameter instanceof Collection) {
+        elements = ((Collection<?>) parameter).toArray();
+        componentType = resolveComponentType(elements);
+      } else if (parameter.getClass().isArray()) {
+        componentType = parameter.getClass().getComponentType();
+        elements = componentType.isPrimitive() ? boxElements(parameter) : (Object[]) parameter;
+      } else {
         throw new TypeException(
-            "ArrayType Handler requires SQL array or java array parameter and does not support type "
+            "ArrayType Handler requires SQL array, java array or collection parameter and does not support type "
                 + parameter.getClass());
       }
-      Class<?> componentType = parameter.getClass().getComponentType();
-      String arrayTypeName = resolveTypeName(componentType);
-      Array array = ps.getConnection().createArrayOf(arrayTypeName, (Object[]) parameter);
+      String arrayTypeName = componentTypeName;
+      if (arrayTypeName == null) {
+        if (componentType == null) {
+          throw new TypeException("Cannot resolve the SQL type of the elements of an empty collection or a collection "
+              + "of nulls. Specify it with jdbcTypeName, e.g. #{ids,jdbcType=ARRAY,jdbcTypeName=INTEGER}");
+        }
+        arrayTypeName = resolveTypeName(componentType);
+      }
+      Array array = ps.getConnection().createArrayOf(arrayTypeName, elements);
       ps.setArray(i, array);
       array.free();
     }
   }
 
+  private static Class<?> resolveComponentType(Object[] elements) {
+    for (Object element : elements) {
+      if (element != null) {
+        return element.getClass();
+      }
+    }
+    return null;
+  }
+
+  private static Object[] boxElements(Object primitiveArray) {
+    int length = java.lang.reflect.Array.getLength(primitiveArray);
+    Object[] elements = new Object[length];
+    for (int i = 0; i < length; i++) {
+      elements[i] = java.lang.reflect.Array.get(primitiveArray, i);
+    }
+    return elements;
+  }
+
   protected String resolveTypeName(Class<?> type) {
     return STANDARD_MAPPING.getOrDefault(type, JdbcType.JAVA_OBJECT.name());
   }
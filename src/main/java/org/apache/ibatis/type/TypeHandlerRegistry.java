@@ -246,10 +246,22 @@ public final class TypeHandlerRegistry {
         handler = pickSoleHandler(jdbcHandlerMap);
       }
     }
+    if (handler == null && JdbcType.ARRAY.equals(jdbcType) && isArrayOrCollection(type)) {
+      // binds the whole array or collection as a single SQL ARRAY
+      handler = jdbcTypeHandlerMap.get(JdbcType.ARRAY);
+    }
     // type drives generics here
     return (TypeHandler<T>) handler;
   }
 
+  private boolean isArrayOrCollection(Type type) {
+    if (!(type instanceof Class)) {
+      return false;
+    }
+    Class<?> clazz = (Class<?>) type;
+    return clazz.isArray() || Collection.class.isAssignableFrom(clazz);
+  }
+
   private Map<JdbcType, TypeHandler<?>> getJdbcHandlerMap(Type type) {
     Map<JdbcType, TypeHandler<?>> jdbcHandlerMap = typeHandlerMap.get(type);
     if (NULL_TYPE_HANDLER_MAP.equals(jdbcHandlerMap)) {
@@ -0,0 +1,112 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+class BulkInsertSqlSourceTest {
+
+  private final Configuration configuration = new Configuration();
+
+  @Test
+  void shouldRepeatValuesTupleForEachRow() {
+    SqlSource sqlSource = bulkSqlSource("insert into author (id, name) values (#{id}, #{name})");
+    List<Map<String, Object>> rows = Arrays.asList(row(1, "fred"), row(2, "wilma"), row(3, "barney"));
+
+    BoundSql boundSql = sqlSource.getBoundSql(ParamNameResolver.wrapToMapIfCollection(rows, null));
+
+    assertThat(boundSql.getSql()).isEqualTo("insert into author (id, name) values (?, ?),(?, ?),(?, ?)");
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    assertThat(parameterMappings).hasSize(6);
+    assertThat(boundSql.getAdditionalParameter(parameterMappings.get(0).getProperty())).isEqualTo(1);
+    assertThat(boundSql.getAdditionalParameter(parameterMappings.get(3).getProperty())).isEqualTo("wilma");
+    assertThat(boundSql.getAdditionalParameter(parameterMappings.get(5).getProperty())).isEqualTo("barney");
+  }
+
+  @Test
+  void shouldKeepSingleRowStatementForSingleRowParameter() {
+    SqlSource sqlSource = bulkSqlSource("insert into author (id, name) values (#{id}, #{name})");
+
+    BoundSql boundSql = sqlSource.getBoundSql(row(1, "fred"));
+
+    assertThat(boundSql.getSql()).isEqualTo("insert into author (id, name) values (?, ?)");
+    assertThat(boundSql.getParameterMappings()).extracting(ParameterMapping::getProperty).containsExactly("id", "name");
+  }
+
+  @Test
+  void shouldIgnoreValuesKeywordInLiteralsAndKeepTrailingClause() {
+    assertThat(BulkInsertSqlSource.multiRowSql("insert into t (a, b) values ('values (x)', ?) returning id", 2))
+        .isEqualTo("insert into t (a, b) values ('values (x)', ?),('values (x)', ?) returning id");
+  }
+
+  @Test
+  void shouldIgnoreValuesKeywordAndParenthesesInQuotedIdentifiers() {
+    assertThat(BulkInsertSqlSource.multiRowSql("insert into \"values (\" (\"a)\", b) values (?, \"x)\")", 2))
+        .isEqualTo("insert into \"values (\" (\"a)\", b) values (?, \"x)\"),(?, \"x)\")");
+    assertThat(BulkInsertSqlSource.multiRowSql("insert into t (a, \"it's\") values (?, ?)", 2))
+        .isEqualTo("insert into t (a, \"it's\") values (?, ?),(?, ?)");
+  }
+
+  @Test
+  void shouldRejectStatementsWithoutValuesClause() {
+    assertThatThrownBy(() -> BulkInsertSqlSource.multiRowSql("insert into t (a) select ? from dual", 2))
+        .isInstanceOf(BuilderException.class);
+  }
+
+  @Test
+  void shouldSplitRowsByParameterMappings() {
+    SqlSource sqlSource = bulkSqlSource("insert into author (id, bio) values (#{id}, 'who?')");
+    List<Map<String, Object>> rows = Arrays.asList(row(1, "fred"), row(2, "wilma"));
+
+    BoundSql boundSql = sqlSource.getBoundSql(ParamNameResolver.wrapToMapIfCollection(rows, null));
+
+    assertThat(boundSql.getSql()).isEqualTo("insert into author (id, bio) values (?, 'who?'),(?, 'who?')");
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    assertThat(parameterMappings).hasSize(2);
+    assertThat(boundSql.getAdditionalParameter(parameterMappings.get(1).getProperty())).isEqualTo(2);
+  }
+
+  @Test
+  void shouldRejectParametersOutsideValuesClause() {
+    assertThatThrownBy(() -> BulkInsertSqlSource.multiRowSql("insert into t (a) values (?) on duplicate key update a = ?", 2))
+        .isInstanceOf(BuilderException.class);
+  }
+
+  private SqlSource bulkSqlSource(String sql) {
+    return new BulkInsertSqlSource(configuration, new SqlSourceBuilder(configuration).parse(sql, Map.class, null));
+  }
+
+  private Map<String, Object> row(int id, String name) {
+    Map<String, Object> row = new HashMap<>();
+    row.put("id", id);
+    row.put("name", name);
+    return row;
+  }
+
+}
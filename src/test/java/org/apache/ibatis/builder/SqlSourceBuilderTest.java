@@ -15,9 +15,26 @@
  */
 package org.apache.ibatis.builder;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.ibatis.domain.blog.Author;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,4 +70,54 @@ public class SqlSourceBuilderTest {
     String shrankWhitespacesInSql = "SELECT * FROM user WHERE user_id = 1";
     Assertions.assertEquals(shrankWhitespacesInSql, actual);
   }
+
+  @Test
+  void shouldShareParameterMappingsBuiltForTheSamePlaceholderAndParameterType() {
+    SqlSourceBuilder builder = new SqlSourceBuilder(configuration, new SqlSourceBuilder.ParameterMappingCache());
+    String sql = "SELECT * FROM author WHERE username = #{username,jdbcType=VARCHAR}";
+    ParameterMapping first = builder.parse(sql, Author.class, Collections.emptyMap())
+        .getBoundSql(null).getParameterMappings().get(0);
+    ParameterMapping second = builder.parse(sql, Author.class, Collections.emptyMap())
+        .getBoundSql(null).getParameterMappings().get(0);
+    Assertions.assertSame(first, second);
+    Assertions.assertEquals(String.class, first.getJavaType());
+    Assertions.assertEquals(JdbcType.VARCHAR, first.getJdbcType());
+
+    ParameterMapping other = builder.parse(sql, HashMap.class, Collections.emptyMap())
+        .getBoundSql(null).getParameterMappings().get(0);
+    Assertions.assertNotSame(first, other);
+    Assertions.assertEquals(Object.class, other.getJavaType());
+  }
+
+  @Test
+  void shouldNotShareParameterMappingsOfBoundValues() {
+    SqlSourceBuilder builder = new SqlSourceBuilder(configuration, new SqlSourceBuilder.ParameterMappingCache());
+    String sql = "SELECT * FROM author WHERE username = #{username}";
+    ParameterMapping first = builder.parse(sql, Author.class, Collections.singletonMap("username", 1))
+        .getBoundSql(null).getParameterMappings().get(0);
+    Assertions.assertEquals(Integer.class, first.getJavaType());
+
+    ParameterMapping second = builder.parse(sql, Author.class, Collections.emptyMap())
+        .getBoundSql(null).getParameterMappings().get(0);
+    Assertions.assertEquals(String.class, second.getJavaType());
+
+    ParameterMapping third = builder.parse(sql, Author.class, Collections.singletonMap("username", 1L))
+        .getBoundSql(null).getParameterMappings().get(0);
+    Assertions.assertEquals(Long.class, third.getJavaType());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldBindEmptyCollectionAsArrayOfJdbcTypeName() throws Exception {
+    String sql = "SELECT * FROM user WHERE id = ANY(#{ids,javaType=java.util.List,jdbcType=ARRAY,jdbcTypeName=INTEGER})";
+    ParameterMapping parameterMapping = sqlSourceBuilder.parse(sql, Object.class, null)
+        .getBoundSql(null).getParameterMappings().get(0);
+
+    PreparedStatement ps = mock(PreparedStatement.class);
+    Connection connection = mock(Connection.class);
+    when(ps.getConnection()).thenReturn(connection);
+    when(connection.createArrayOf(anyString(), any(Object[].class))).thenReturn(mock(Array.class));
+    ((TypeHandler<Object>) parameterMapping.getTypeHandler()).setParameter(ps, 1, Collections.emptyList(), JdbcType.ARRAY);
+    verify(connection).createArrayOf("INTEGER", new Object[0]);
+  }
 }
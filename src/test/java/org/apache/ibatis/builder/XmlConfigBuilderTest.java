@@ -102,6 +102,9 @@ class XmlConfigBuilderTest {
       assertThat(config.getTypeHandlerRegistry().getTypeHandler(RoundingMode.class)).isInstanceOf(EnumTypeHandler.class);
       assertThat(config.isShrinkWhitespacesInSql()).isFalse();
       assertThat(config.getDefaultSqlProviderType()).isNull();
+      assertThat(config.isParallelMapperParsing()).isFalse();
+      assertThat(config.isLazyStatementBuilding()).isFalse();
+      assertThat(config.isNestedResultStreaming()).isFalse();
     }
   }
 
@@ -198,6 +201,9 @@ class XmlConfigBuilderTest {
       assertThat(config.getConfigurationFactory().getName()).isEqualTo(String.class.getName());
       assertThat(config.isShrinkWhitespacesInSql()).isTrue();
       assertThat(config.getDefaultSqlProviderType().getName()).isEqualTo(MySqlProvider.class.getName());
+      assertThat(config.isParallelMapperParsing()).isTrue();
+      assertThat(config.isLazyStatementBuilding()).isTrue();
+      assertThat(config.isNestedResultStreaming()).isTrue();
 
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blogauthor")).isEqualTo(Author.class);
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blog")).isEqualTo(Blog.class);
@@ -306,6 +312,54 @@ class XmlConfigBuilderTest {
       .hasMessageContaining("The properties element cannot specify both a URL and a resource based property file reference.  Please specify one or the other.");
   }
 
+  @Test
+  void shouldRegisterSameStatementsWhenParsingMappersInParallel() {
+    Configuration sequential = new XMLConfigBuilder(new StringReader(mapperConfigWithParallelParsing(false))).parse();
+    Configuration parallel = new XMLConfigBuilder(new StringReader(mapperConfigWithParallelParsing(true))).parse();
+
+    assertThat(parallel.isParallelMapperParsing()).isTrue();
+    assertThat(parallel.getMappedStatementNames()).isNotEmpty()
+        .containsExactlyInAnyOrderElementsOf(sequential.getMappedStatementNames());
+    assertThat(parallel.getResultMapNames()).containsExactlyInAnyOrderElementsOf(sequential.getResultMapNames());
+    assertThat(parallel.getCacheNames()).containsExactlyInAnyOrderElementsOf(sequential.getCacheNames());
+    assertThat(parallel.getMapperRegistry().getMappers())
+        .containsExactlyInAnyOrderElementsOf(sequential.getMapperRegistry().getMappers());
+  }
+
+  @Test
+  void shouldReportMissingMapperResourceWhenParsingMappersInParallel() {
+    final String MAPPER_CONFIG = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+            + "<!DOCTYPE configuration PUBLIC \"-//mybatis.org//DTD Config 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-config.dtd\">\n"
+            + "<configuration>\n"
+            + "  <settings>\n"
+            + "    <setting name=\"parallelMapperParsing\" value=\"true\"/>\n"
+            + "  </settings>\n"
+            + "  <mappers>\n"
+            + "    <mapper resource=\"a/b/c/MissingMapper.xml\"/>\n"
+            + "  </mappers>\n"
+            + "</configuration>\n";
+
+    XMLConfigBuilder builder = new XMLConfigBuilder(new StringReader(MAPPER_CONFIG));
+    when(builder::parse);
+    then(caughtException()).isInstanceOf(BuilderException.class)
+      .hasMessageContaining("Error reading mapper XML 'a/b/c/MissingMapper.xml'.");
+  }
+
+  private static String mapperConfigWithParallelParsing(boolean parallelMapperParsing) {
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+        + "<!DOCTYPE configuration PUBLIC \"-//mybatis.org//DTD Config 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-config.dtd\">\n"
+        + "<configuration>\n"
+        + "  <settings>\n"
+        + "    <setting name=\"parallelMapperParsing\" value=\"" + parallelMapperParsing + "\"/>\n"
+        + "  </settings>\n"
+        + "  <mappers>\n"
+        + "    <mapper resource=\"org/apache/ibatis/builder/AuthorMapper.xml\"/>\n"
+        + "    <mapper class=\"org.apache.ibatis.builder.mapper.CustomMapper\"/>\n"
+        + "    <mapper resource=\"org/apache/ibatis/builder/CachedAuthorMapper.xml\"/>\n"
+        + "  </mappers>\n"
+        + "</configuration>\n";
+  }
+
   static class MySqlProvider {
     @SuppressWarnings("unused")
     public static String provideSql() {
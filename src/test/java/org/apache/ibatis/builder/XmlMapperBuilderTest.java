@@ -19,12 +19,22 @@ import static com.googlecode.catchexception.apis.BDDCatchException.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.BDDAssertions.then;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.apache.ibatis.builder.xml.XMLMapperBuilder;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.session.Configuration;
@@ -76,6 +86,78 @@ class XmlMapperBuilderTest {
     assertThat(mappedStatement.getResultSetType()).isEqualTo(ResultSetType.SCROLL_INSENSITIVE);
   }
 
+  @Test
+  void shouldBuildStatementsOnFirstUseWhenLazyStatementBuildingIsEnabled() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setLazyStatementBuilding(true);
+    String resource = "org/apache/ibatis/builder/AuthorMapper.xml";
+    try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+      XMLMapperBuilder builder = new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments());
+      builder.parse();
+    }
+    String id = "org.apache.ibatis.domain.blog.mappers.AuthorMapper.selectWithOptions";
+    assertThat(configuration.hasStatement(id, false)).isFalse();
+
+    assertThat(configuration.hasStatement(id)).isTrue();
+    assertThat(configuration.hasStatement(id, false)).isTrue();
+    assertThat(configuration.hasStatement("org.apache.ibatis.domain.blog.mappers.AuthorMapper.selectAuthor", false)).isFalse();
+
+    MappedStatement mappedStatement = configuration.getMappedStatement("selectWithOptions");
+    assertThat(mappedStatement.getFetchSize()).isEqualTo(200);
+    assertThat(configuration.getMappedStatement(id)).isSameAs(mappedStatement);
+    assertThat(configuration.hasStatement("unknownStatement")).isFalse();
+
+    assertThat(configuration.getMappedStatementNames()).contains("org.apache.ibatis.domain.blog.mappers.AuthorMapper.selectAuthor");
+  }
+
+  @Test
+  void shouldBuildLazyStatementsConcurrently() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setLazyStatementBuilding(true);
+    String resource = "org/apache/ibatis/builder/AuthorMapper.xml";
+    try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+      XMLMapperBuilder builder = new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments());
+      builder.parse();
+    }
+    String namespace = "org.apache.ibatis.domain.blog.mappers.AuthorMapper.";
+    List<String> ids = Arrays.asList("selectAuthor", "selectWithOptions", "selectAllAuthors", "insertAuthor", "updateAuthor", "deleteAuthor");
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Object>> results = new ArrayList<>();
+      for (String id : ids) {
+        results.add(executor.submit(() -> configuration.getMappedStatement(namespace + id)));
+        results.add(executor.submit(() -> configuration.hasStatement(namespace + id, false)));
+        results.add(executor.submit(() -> new ArrayList<>(configuration.getMappedStatementNames())));
+      }
+      for (Future<Object> result : results) {
+        result.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdown();
+    }
+    for (String id : ids) {
+      assertThat(configuration.hasStatement(namespace + id, false)).isTrue();
+    }
+  }
+
+  @Test
+  void shouldKeepLazyStatementsThatFailedToBuild() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setLazyStatementBuilding(true);
+    String mapper = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>"
+        + "<!DOCTYPE mapper PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-mapper.dtd\">"
+        + "<mapper namespace=\"lazy\"><select id=\"selectOne\" resultMap=\"addedLater\">select 1</select></mapper>";
+    try (InputStream inputStream = new ByteArrayInputStream(mapper.getBytes(StandardCharsets.UTF_8))) {
+      XMLMapperBuilder builder = new XMLMapperBuilder(inputStream, configuration, "lazy.xml", configuration.getSqlFragments());
+      builder.parse();
+    }
+    Assertions.assertThrows(IncompleteElementException.class, () -> configuration.getMappedStatement("lazy.selectOne"));
+    Assertions.assertThrows(IncompleteElementException.class, () -> configuration.getMappedStatement("lazy.selectOne"));
+
+    configuration.addResultMap(new ResultMap.Builder(configuration, "lazy.addedLater", Integer.class, new ArrayList<>()).build());
+    assertThat(configuration.getMappedStatement("lazy.selectOne").getResultMaps().get(0).getId()).isEqualTo("lazy.addedLater");
+  }
+
   @Test
   void parseExpression() {
     BaseBuilder builder = new BaseBuilder(new Configuration()){{}};
@@ -16,6 +16,8 @@
 package org.apache.ibatis.builder.xml.dynamic;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.io.Reader;
@@ -37,6 +39,7 @@ import org.apache.ibatis.scripting.xmltags.MixedSqlNode;
 import org.apache.ibatis.scripting.xmltags.SetSqlNode;
 import org.apache.ibatis.scripting.xmltags.SqlNode;
 import org.apache.ibatis.scripting.xmltags.TextSqlNode;
+import org.apache.ibatis.scripting.xmltags.TrimSqlNode;
 import org.apache.ibatis.scripting.xmltags.WhereSqlNode;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -297,6 +300,16 @@ class DynamicSqlSourceTest extends BaseDataTest {
     assertEquals(expected, boundSql.getSql());
   }
 
+  @Test
+  void shouldTrimPrefixAndSuffixOverridesIgnoringCase() throws Exception {
+    final String expected = "SELECT * FROM BLOG WHERE (  a = ? )";
+    DynamicSqlSource source = createDynamicSqlSource(
+        new TextSqlNode("SELECT * FROM BLOG WHERE"),
+        new TrimSqlNode(new Configuration(), mixedContents(new TextSqlNode("  and a = ?, ")), "(", "AND |OR ", ")", ","));
+    BoundSql boundSql = source.getBoundSql(null);
+    assertEquals(expected, boundSql.getSql());
+  }
+
   @Test
   void shouldTrimNoSetClause() throws Exception {
     final String expected = "UPDATE BLOG";
@@ -340,6 +353,21 @@ class DynamicSqlSourceTest extends BaseDataTest {
     assertEquals(expected, boundSql.getSql());
   }
 
+  @Test
+  void shouldSubstituteEveryExpressionAndKeepEscapedTokens() throws Exception {
+    final HashMap<String, String> parameterObject = new HashMap<String, String>() {{
+      put("table", "BLOG");
+      put("column", "ID");
+    }};
+    final String expected = "SELECT ${column} FROM BLOG WHERE ID = ?";
+    TextSqlNode textSqlNode = new TextSqlNode("SELECT \\${column} FROM ${table} WHERE ${column} = #{id}");
+    assertTrue(textSqlNode.isDynamic());
+    assertFalse(new TextSqlNode("SELECT \\${column} FROM BLOG").isDynamic());
+    DynamicSqlSource source = createDynamicSqlSource(textSqlNode);
+    BoundSql boundSql = source.getBoundSql(parameterObject);
+    assertEquals(expected, boundSql.getSql());
+  }
+
   @Test
   void shouldSkipForEachWhenCollectionIsEmpty() throws Exception {
     final HashMap<String, Integer[]> parameterObject = new HashMap<String, Integer[]>() {{
@@ -376,6 +404,25 @@ class DynamicSqlSourceTest extends BaseDataTest {
     assertEquals("__frch_u_0", boundSql.getParameterMappings().get(3).getProperty());
   }
 
+  @Test
+  void shouldItemizeIndexAndItemOfEveryIteration() throws Exception {
+    final Map<String, Object> param = new HashMap<>();
+    param.put("list", Arrays.asList("a", "b"));
+    DynamicSqlSource source = createDynamicSqlSource(
+        new TextSqlNode("INSERT INTO BLOG (ID, NAME, NOTE) VALUES"),
+        new ForEachSqlNode(new Configuration(), mixedContents(
+            new TextSqlNode("(#{idx}, #{\titem.length}, #{items})")), "list", "idx", "item", null, null, ","));
+    BoundSql boundSql = source.getBoundSql(param);
+    assertEquals("INSERT INTO BLOG (ID, NAME, NOTE) VALUES  (?, ?, ?) , (?, ?, ?)", boundSql.getSql());
+    assertEquals(6, boundSql.getParameterMappings().size());
+    assertEquals("__frch_idx_0", boundSql.getParameterMappings().get(0).getProperty());
+    assertEquals("__frch_item_0.length", boundSql.getParameterMappings().get(1).getProperty());
+    assertEquals("items", boundSql.getParameterMappings().get(2).getProperty());
+    assertEquals("__frch_idx_1", boundSql.getParameterMappings().get(3).getProperty());
+    assertEquals("__frch_item_1.length", boundSql.getParameterMappings().get(4).getProperty());
+    assertEquals("items", boundSql.getParameterMappings().get(5).getProperty());
+  }
+
   private DynamicSqlSource createDynamicSqlSource(SqlNode... contents) throws IOException, SQLException {
     createBlogDataSource();
     final String resource = "org/apache/ibatis/builder/MapperConfig.xml";
@@ -17,6 +17,11 @@ package org.apache.ibatis.executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
 import org.junit.jupiter.api.Test;
 
 class ErrorContextTest {
@@ -55,4 +60,36 @@ class ErrorContextTest {
     assertEquals(outer, recalled);
     assertEquals(outer, ErrorContext.instance());
   }
+
+  @Test
+  void shouldReturnTheContextInstalledByStoreAndRecall() {
+    ErrorContext outer = ErrorContext.instance().activity("outer activity");
+    ErrorContext inner = outer.store();
+    assertNotSame(outer, inner);
+    assertSame(inner, ErrorContext.instance());
+    assertSame(outer, inner.recall());
+    assertSame(outer, ErrorContext.instance());
+    outer.reset();
+  }
+
+  @Test
+  void shouldDescribeTheRecordedStatementOnlyWhenFormatted() {
+    Configuration configuration = new Configuration();
+    SqlSource sqlSource = new StaticSqlSource(configuration, "select 1");
+    MappedStatement statement = new MappedStatement.Builder(configuration, "mapper.selectOne", sqlSource, SqlCommandType.SELECT)
+        .resource("mapper.xml").build();
+    ErrorContext context = ErrorContext.instance().statement(statement, ErrorContext.Phase.EXECUTING_QUERY);
+    String description = context.toString();
+    assertTrue(description.contains("### The error may exist in mapper.xml"));
+    assertTrue(description.contains("### The error may involve mapper.selectOne"));
+    assertTrue(description.contains("### The error occurred while executing a query"));
+
+    context.statement(statement, ErrorContext.Phase.SETTING_PARAMETERS);
+    assertTrue(context.toString().contains("### The error may involve defaultParameterMap"));
+    assertTrue(context.toString().contains("### The error occurred while setting parameters"));
+
+    context.activity("some activity");
+    assertTrue(context.toString().contains("### The error occurred while some activity"));
+    context.reset();
+  }
 }
@@ -17,13 +17,26 @@ package org.apache.ibatis.io;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.Enumeration;
 import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
 
 import org.apache.ibatis.annotations.CacheNamespace;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Unit tests for {@link ResolverUtil}.
@@ -109,6 +122,130 @@ class ResolverUtilTest {
     classSets.forEach(c -> assertTrue(VFS.class.isAssignableFrom(c)));
   }
 
+  @Test
+  void findUsesClassIndexInsteadOfScanning(@TempDir Path classPathRoot) throws IOException {
+    writeClassIndex(classPathRoot, "org.apache.ibatis.io.DefaultVFS", "org.apache.ibatis.io.ResolverUtil",
+        "org.apache.ibatis.io.ResolverUtilTest$TestMapper", "org.apache.ibatis.io.Unknown", "org.apache.ibatis.session.Configuration");
+    Files.createDirectories(classPathRoot.resolve("org/apache/ibatis/io"));
+    try (URLClassLoader loader = new IsolatedResourcesClassLoader(classPathRoot)) {
+      ResolverUtil<VFS> resolverUtil = new ResolverUtil<>();
+      resolverUtil.setClassLoader(loader);
+      resolverUtil.find(new ResolverUtil.IsA(VFS.class), "org.apache.ibatis.io");
+      Set<Class<? extends VFS>> classSets = resolverUtil.getClasses();
+      assertEquals(1, classSets.size());
+      assertTrue(classSets.contains(DefaultVFS.class));
+
+      ResolverUtil<Object> annotatedResolverUtil = new ResolverUtil<>();
+      annotatedResolverUtil.setClassLoader(loader);
+      annotatedResolverUtil.findAnnotated(CacheNamespace.class, "org.apache.ibatis");
+      assertEquals(1, annotatedResolverUtil.getClasses().size());
+    }
+  }
+
+  @Test
+  void findReadsClassIndexOncePerClassLoader(@TempDir Path classPathRoot) throws IOException {
+    Path classIndex = writeClassIndex(classPathRoot, "org.apache.ibatis.io.DefaultVFS");
+    Files.createDirectories(classPathRoot.resolve("org/apache/ibatis/io"));
+    try (URLClassLoader loader = new IsolatedResourcesClassLoader(classPathRoot)) {
+      ResolverUtil<VFS> resolverUtil = new ResolverUtil<>();
+      resolverUtil.setClassLoader(loader);
+      resolverUtil.find(new ResolverUtil.IsA(VFS.class), "org.apache.ibatis.io");
+      assertEquals(1, resolverUtil.getClasses().size());
+
+      Files.write(classIndex, Arrays.asList("org.apache.ibatis.io.DefaultVFS", "org.apache.ibatis.io.JBoss6VFS"),
+          StandardCharsets.UTF_8);
+      ResolverUtil<VFS> anotherResolverUtil = new ResolverUtil<>();
+      anotherResolverUtil.setClassLoader(loader);
+      anotherResolverUtil.find(new ResolverUtil.IsA(VFS.class), "org.apache.ibatis.io");
+      assertEquals(1, anotherResolverUtil.getClasses().size());
+    }
+  }
+
+  @Test
+  void findScansPackageWhenClassIndexDoesNotListIt(@TempDir Path classPathRoot) throws IOException {
+    writeClassIndex(classPathRoot, "org.apache.ibatis.session.Configuration");
+    Files.createDirectories(classPathRoot.resolve("org/apache/ibatis/io"));
+    try (URLClassLoader loader = new IsolatedResourcesClassLoader(classPathRoot)) {
+      ResolverUtil<VFS> resolverUtil = new ResolverUtil<>();
+      resolverUtil.setClassLoader(loader);
+      assertTrue(resolverUtil.findIndexedClasses("org.apache.ibatis.io").isEmpty());
+    }
+  }
+
+  @Test
+  void findScansPackageWhenClassIndexDoesNotCoverEveryLocation(@TempDir Path classPathRoot) throws IOException {
+    // an index shipped by another location must not hide the classes of the package in unindexed locations
+    writeClassIndex(classPathRoot, "org.apache.ibatis.io.DefaultVFS");
+    try (URLClassLoader loader = new URLClassLoader(new URL[] { classPathRoot.toUri().toURL() }, currentContextClassLoader)) {
+      ResolverUtil<VFS> resolverUtil = new ResolverUtil<>();
+      resolverUtil.setClassLoader(loader);
+      resolverUtil.find(new ResolverUtil.IsA(VFS.class), "org.apache.ibatis.io");
+      assertEquals(3, resolverUtil.getClasses().size());
+    }
+  }
+
+  @Test
+  void findScansPackageWhenJarWithoutClassIndexContainsIt(@TempDir Path tempDir) throws IOException {
+    Path classPathRoot = Files.createDirectories(tempDir.resolve("classes"));
+    writeClassIndex(classPathRoot, "org.apache.ibatis.io.DefaultVFS");
+    Files.createDirectories(classPathRoot.resolve("org/apache/ibatis/io"));
+    Path unrelatedJar = writeJar(tempDir.resolve("unrelated.jar"), "org/apache/ibatis/session/Unknown.class");
+    try (URLClassLoader loader = new IsolatedResourcesClassLoader(classPathRoot, unrelatedJar)) {
+      ResolverUtil<VFS> resolverUtil = new ResolverUtil<>();
+      resolverUtil.setClassLoader(loader);
+      assertEquals(1, resolverUtil.findIndexedClasses("org.apache.ibatis.io").size());
+    }
+    // a jar without directory entries is not returned by getResources() for the package
+    Path jarWithoutDirectories = writeJar(tempDir.resolve("no-directories.jar"), "org/apache/ibatis/io/sub/Unknown.class");
+    try (URLClassLoader loader = new IsolatedResourcesClassLoader(classPathRoot, jarWithoutDirectories)) {
+      ResolverUtil<VFS> resolverUtil = new ResolverUtil<>();
+      resolverUtil.setClassLoader(loader);
+      assertTrue(resolverUtil.findIndexedClasses("org.apache.ibatis.io").isEmpty());
+    }
+  }
+
+  private static Path writeJar(Path jar, String... entryNames) throws IOException {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar), manifest)) {
+      for (String entryName : entryNames) {
+        out.putNextEntry(new JarEntry(entryName));
+        out.closeEntry();
+      }
+    }
+    return jar;
+  }
+
+  private static Path writeClassIndex(Path classPathRoot, String... classNames) throws IOException {
+    Path classIndex = classPathRoot.resolve(ResolverUtil.CLASS_INDEX_LOCATION);
+    Files.createDirectories(classIndex.getParent());
+    Files.write(classIndex, Arrays.asList(classNames), StandardCharsets.UTF_8);
+    return classIndex;
+  }
+
+  /**
+   * Loads classes from the parent class loader, but only finds the resources of its own class path location.
+   */
+  private static class IsolatedResourcesClassLoader extends URLClassLoader {
+
+    IsolatedResourcesClassLoader(Path... classPathRoots) throws IOException {
+      super(toUrls(classPathRoots), currentContextClassLoader);
+    }
+
+    private static URL[] toUrls(Path... classPathRoots) throws IOException {
+      URL[] urls = new URL[classPathRoots.length];
+      for (int i = 0; i < classPathRoots.length; i++) {
+        urls[i] = classPathRoots[i].toUri().toURL();
+      }
+      return urls;
+    }
+
+    @Override
+    public Enumeration<URL> getResources(String name) throws IOException {
+      return findResources(name);
+    }
+  }
+
   @Test
   void getPackagePath() {
     ResolverUtil resolverUtil = new ResolverUtil();
@@ -16,7 +16,9 @@
 package org.apache.ibatis.jdbc;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -24,6 +26,9 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.ibatis.BaseDataTest;
@@ -34,6 +39,8 @@ import org.junit.jupiter.api.Test;
 
 class PooledDataSourceTest extends BaseDataTest {
 
+  private static final String HSQLDB_QUERY = "SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS";
+
   @Test
   void shouldProperlyMaintainPoolOf3ActiveAnd2IdleConnections() throws Exception {
     PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
@@ -91,6 +98,129 @@ class PooledDataSourceTest extends BaseDataTest {
     c.close();
   }
 
+  @Test
+  void shouldEvictIdleConnectionsInBackground() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      ds.setPoolHousekeepingInterval(50);
+      ds.setPoolMaximumIdleTime(100);
+      Connection c1 = ds.getConnection();
+      Connection c2 = ds.getConnection();
+      c1.close();
+      c2.close();
+      assertEquals(2, ds.getPoolState().getIdleConnectionCount());
+      assertTrue(waitForIdleConnectionCount(ds, 0));
+      assertEquals(0, ds.getPoolState().getBadConnectionCount());
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldDiscardBrokenIdleConnectionsInBackground() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      ds.setPoolPingEnabled(true);
+      ds.setPoolPingQuery(HSQLDB_QUERY);
+      ds.setPoolHousekeepingInterval(50);
+      Connection c1 = ds.getConnection();
+      Connection c2 = ds.getConnection();
+      Connection realConnection = PooledDataSource.unwrapConnection(c2);
+      c1.close();
+      c2.close();
+      realConnection.close();
+      assertTrue(waitForIdleConnectionCount(ds, 1));
+      Connection c3 = ds.getConnection();
+      executeQuery(c3, HSQLDB_QUERY);
+      c3.close();
+      assertEquals(0, ds.getPoolState().getBadConnectionCount());
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldKeepMinimumIdleConnectionsWarmed() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      ds.setPoolMaximumActiveConnections(3);
+      ds.setPoolMinimumIdleConnections(2);
+      Connection c1 = ds.getConnection();
+      assertTrue(waitForIdleConnectionCount(ds, 2));
+      Connection c2 = ds.getConnection();
+      Connection c3 = ds.getConnection();
+      assertEquals(3, ds.getPoolState().getActiveConnectionCount());
+      assertEquals(0, ds.getPoolState().getIdleConnectionCount());
+      c1.close();
+      c2.close();
+      c3.close();
+      assertEquals(3, ds.getPoolState().getIdleConnectionCount());
+      assertEquals(0, ds.getPoolState().getHadToWaitCount());
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldWarmMinimumIdleConnectionsWhenStarted() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      ds.setPoolMinimumIdleConnections(2);
+      ds.start();
+      assertTrue(waitForIdleConnectionCount(ds, 2));
+      assertEquals(0, ds.getPoolState().getRequestCount());
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldServeThousandsOfVirtualThreadsWithFewConnections() throws Exception {
+    // checks that every waiting virtual thread is served; it does not detect pinning of the carrier threads
+    Method newVirtualThreadPerTaskExecutor;
+    try {
+      newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      assumeTrue(false, "Virtual threads are not available on this JVM.");
+      return;
+    }
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    ExecutorService executor = (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+    try {
+      ds.setPoolMaximumActiveConnections(4);
+      ds.setPoolTimeToWait(60000);
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < 5000; i++) {
+        results.add(executor.submit(() -> {
+          try (Connection connection = ds.getConnection()) {
+            executeQuery(connection, HSQLDB_QUERY);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> result : results) {
+        result.get(1, TimeUnit.MINUTES);
+      }
+      assertEquals(5000, ds.getPoolState().getRequestCount());
+      assertEquals(0, ds.getPoolState().getActiveConnectionCount());
+      assertEquals(0, ds.getPoolState().getBadConnectionCount());
+    } finally {
+      executor.shutdownNow();
+      ds.forceCloseAll();
+    }
+  }
+
+  private boolean waitForIdleConnectionCount(PooledDataSource ds, int expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (ds.getPoolState().getIdleConnectionCount() != expected) {
+      if (System.currentTimeMillis() > deadline) {
+        return false;
+      }
+      Thread.sleep(20);
+    }
+    return true;
+  }
+
   @Disabled("See the comments")
   @Test
   void shouldReconnectWhenServerKilledLeakedConnection() throws Exception {
@@ -137,7 +267,11 @@ class PooledDataSourceTest extends BaseDataTest {
   }
 
   private void executeQuery(Connection con) throws SQLException {
-    try (PreparedStatement st = con.prepareStatement("select 1");
+    executeQuery(con, "select 1");
+  }
+
+  private void executeQuery(Connection con, String sql) throws SQLException {
+    try (PreparedStatement st = con.prepareStatement(sql);
          ResultSet rs = st.executeQuery()) {
       while (rs.next()) {
         assertEquals(1, rs.getInt(1));
@@ -20,6 +20,7 @@ import static org.assertj.core.api.BDDAssertions.then;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.List;
 
@@ -321,4 +322,94 @@ class ReflectorTest {
             "Ambiguous setters defined for property 'bool' in class '" + Bean.class.getName().replace("$", "\\$")
                 + "' with types '(java.lang.Integer|boolean)' and '(java.lang.Integer|boolean)'\\.");
   }
+
+  @Test
+  void shouldInvokeAccessorsAndFields() throws Exception {
+    @SuppressWarnings("unused")
+    class Bean {
+      private int count;
+      private String name;
+      public Long id;
+
+      public int getCount() {
+        return count;
+      }
+
+      public void setCount(int count) {
+        if (count < 0) {
+          throw new IllegalStateException("negative count");
+        }
+        this.count = count;
+      }
+    }
+    ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+    Reflector reflector = reflectorFactory.findForClass(Bean.class);
+    Bean bean = new Bean();
+
+    reflector.getSetInvoker("count").invoke(bean, new Object[] { 3 });
+    assertEquals(3, reflector.getGetInvoker("count").invoke(bean, new Object[0]));
+    reflector.getSetInvoker("name").invoke(bean, new Object[] { "foo" });
+    assertEquals("foo", reflector.getGetInvoker("name").invoke(bean, new Object[0]));
+    reflector.getSetInvoker("id").invoke(bean, new Object[] { null });
+    assertNull(reflector.getGetInvoker("id").invoke(bean, new Object[0]));
+
+    when(() -> reflector.getSetInvoker("count").invoke(bean, new Object[] { -1 }));
+    then(caughtException()).isInstanceOf(InvocationTargetException.class)
+      .hasCauseInstanceOf(IllegalStateException.class);
+    when(() -> reflector.getSetInvoker("count").invoke(bean, new Object[] { null }));
+    then(caughtException()).isInstanceOf(IllegalArgumentException.class);
+    when(() -> reflector.getSetInvoker("name").invoke(bean, new Object[] { 1 }));
+    then(caughtException()).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldPassArrayToVarargsSetter() throws Exception {
+    class Bean {
+      private String[] tags;
+
+      public String[] getTags() {
+        return tags;
+      }
+
+      public void setTags(String... tags) {
+        this.tags = tags;
+      }
+    }
+    Reflector reflector = new DefaultReflectorFactory().findForClass(Bean.class);
+    Bean bean = new Bean();
+    String[] tags = { "a", "b" };
+    reflector.getSetInvoker("tags").invoke(bean, new Object[] { tags });
+    assertSame(tags, bean.getTags());
+
+    MetaObject metaObject = SystemMetaObject.forObject(bean);
+    metaObject.setValue("tags", new String[] { "c" });
+    assertArrayEquals(new String[] { "c" }, (String[]) metaObject.getValue("tags"));
+  }
+
+  @Test
+  void shouldRejectInvalidTargetsLikeReflection() {
+    @SuppressWarnings("unused")
+    class Bean {
+      private String name;
+      public Long id;
+
+      public String getName() {
+        return name;
+      }
+
+      public void setName(String name) {
+        this.name = name;
+      }
+    }
+    Reflector reflector = new DefaultReflectorFactory().findForClass(Bean.class);
+    Object notABean = "not a bean";
+    assertThrows(IllegalArgumentException.class, () -> reflector.getGetInvoker("name").invoke(notABean, new Object[0]));
+    assertThrows(IllegalArgumentException.class, () -> reflector.getSetInvoker("name").invoke(notABean, new Object[] { "foo" }));
+    assertThrows(IllegalArgumentException.class, () -> reflector.getGetInvoker("id").invoke(notABean, new Object[0]));
+    assertThrows(IllegalArgumentException.class, () -> reflector.getSetInvoker("id").invoke(notABean, new Object[] { 1L }));
+    assertThrows(NullPointerException.class, () -> reflector.getGetInvoker("name").invoke(null, new Object[0]));
+    assertThrows(NullPointerException.class, () -> reflector.getSetInvoker("name").invoke(null, new Object[] { "foo" }));
+    assertThrows(NullPointerException.class, () -> reflector.getGetInvoker("id").invoke(null, new Object[0]));
+    assertThrows(NullPointerException.class, () -> reflector.getSetInvoker("id").invoke(null, new Object[] { 1L }));
+  }
 }
@@ -19,11 +19,15 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -70,6 +74,49 @@ class DefaultParameterHandlerTest {
 
   }
 
+  @Test
+  void setParametersCreatesOneMetaObjectPerExecution() throws SQLException {
+    final Configuration config = spy(new Configuration());
+    final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
+    final MappedStatement mappedStatement = new MappedStatement.Builder(config, "testInsert",
+        new StaticSqlSource(config, "some insert statement"), SqlCommandType.INSERT).build();
+    List<ParameterMapping> parameterMappings = Arrays.asList(
+        new ParameterMapping.Builder(config, "id", registry.getTypeHandler(Integer.class)).build(),
+        new ParameterMapping.Builder(config, "name", registry.getTypeHandler(String.class)).build());
+    Person person = new Person();
+    person.setId(1);
+    person.setName("foo");
+    BoundSql boundSql = new BoundSql(config, "some insert statement", parameterMappings, person);
+
+    PreparedStatement ps = mock(PreparedStatement.class);
+    new DefaultParameterHandler(mappedStatement, person, boundSql).setParameters(ps);
+
+    verify(ps).setInt(1, 1);
+    verify(ps).setString(2, "foo");
+    verify(config, times(1)).newMetaObject(person);
+  }
+
+  public static class Person {
+    private Integer id;
+    private String name;
+
+    public Integer getId() {
+      return id;
+    }
+
+    public void setId(Integer id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
   MappedStatement getMappedStatement() {
     final Configuration config = new Configuration();
     final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
@@ -0,0 +1,82 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+class DynamicContextTest {
+
+  private final Configuration configuration = new Configuration();
+
+  @Test
+  void shouldResolveBeanPropertiesThroughBindings() {
+    Author author = new Author(101, "jim", "********", "jim@ibatis.apache.org", "", null);
+    Map<String, Object> bindings = new DynamicContext(configuration, author).getBindings();
+    assertEquals("jim", bindings.get("username"));
+    assertSame(author, bindings.get(DynamicContext.PARAMETER_OBJECT_KEY));
+  }
+
+  @Test
+  void shouldFallbackToParameterWithTypeHandler() {
+    Map<String, Object> bindings = new DynamicContext(configuration, "jim").getBindings();
+    assertEquals("jim", bindings.get("anything"));
+  }
+
+  @Test
+  void shouldNotResolveMapParameterEntriesDirectly() {
+    Map<String, Object> parameter = Collections.singletonMap("name", "jim");
+    DynamicContext context = new DynamicContext(configuration, parameter);
+    assertNull(context.getBindings().get("name"));
+    assertEquals("jim", OgnlCache.getValue("name", context.getBindings()));
+  }
+
+  @Test
+  void shouldPreferBoundValuesOverParameterProperties() {
+    Author author = new Author(101, "jim", "********", "jim@ibatis.apache.org", "", null);
+    DynamicContext context = new DynamicContext(configuration, author);
+    context.bind("username", null);
+    assertNull(context.getBindings().get("username"));
+  }
+
+  @Test
+  void shouldJoinAppendedSqlWithSpacesAndTrimIt() {
+    String[] fragments = { "\n  select *", "", "from blog\t", " where id = #{id}  \n" };
+    DynamicContext context = new DynamicContext(configuration, null, 4);
+    StringJoiner expected = new StringJoiner(" ");
+    for (String fragment : fragments) {
+      context.appendSql(fragment);
+      expected.add(fragment);
+    }
+    assertEquals(expected.toString().trim(), context.getSql());
+  }
+
+  @Test
+  void shouldReturnEmptySqlWhenNothingWasAppended() {
+    assertEquals("", new DynamicContext(configuration, null).getSql());
+    DynamicContext context = new DynamicContext(configuration, null);
+    context.appendSql(" \n ");
+    assertEquals("", context.getSql());
+  }
+
+}
@@ -27,6 +27,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.IntStream;
 
+import org.apache.ibatis.session.Configuration;
 import org.junit.jupiter.api.Test;
 
 class OgnlCacheTest {
@@ -51,4 +52,18 @@ class OgnlCacheTest {
     }
     executor.shutdown();
   }
+
+  @Test
+  void shouldReuseOgnlContextOfDynamicContextBindings() {
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("name", "a");
+    DynamicContext dynamicContext = new DynamicContext(new Configuration(), parameter);
+    DynamicContext.ContextMap bindings = (DynamicContext.ContextMap) dynamicContext.getBindings();
+    assertEquals("a", OgnlCache.getValue("name", bindings));
+    Map<?, ?> ognlContext = bindings.getOgnlContext();
+    assertNotNull(ognlContext);
+    dynamicContext.bind("name", "b");
+    assertEquals("b", OgnlCache.getValue("name", bindings));
+    assertSame(ognlContext, bindings.getOgnlContext());
+  }
 }
@@ -0,0 +1,99 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.IntegerTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+import org.junit.jupiter.api.Test;
+
+class ColumnarResultTest {
+
+  @Test
+  void shouldDoubleCapacityUpToTheMaximumArraySize() {
+    assertEquals(16, ColumnarResult.newCapacity(0));
+    assertEquals(32, ColumnarResult.newCapacity(16));
+    assertEquals(Integer.MAX_VALUE - 8, ColumnarResult.newCapacity(Integer.MAX_VALUE / 2 + 1));
+    assertThrows(IllegalStateException.class, () -> ColumnarResult.newCapacity(Integer.MAX_VALUE - 8));
+  }
+
+  @Test
+  void shouldReadPrimitiveColumnsOnlyWithBuiltInTypeHandlers() throws SQLException {
+    List<TypeHandler<?>> typeHandlers = Arrays.asList(new IntegerTypeHandler(), new PlusOneTypeHandler());
+    ColumnarResult result = new ColumnarResult(Arrays.asList("A", "B"), Arrays.asList(JdbcType.INTEGER, JdbcType.INTEGER),
+        typeHandlers);
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getInt(1)).thenReturn(1);
+    when(rs.getInt(2)).thenReturn(2);
+    result.addRow(rs);
+
+    assertArrayEquals(new int[] { 1 }, (int[]) result.getColumn(0));
+    assertArrayEquals(new Object[] { 3 }, (Object[]) result.getColumn(1));
+  }
+
+  @Test
+  void shouldReturnCopiesOfColumns() throws SQLException {
+    ColumnarResult result = new ColumnarResult(Arrays.asList("A"), Arrays.asList(JdbcType.INTEGER),
+        Arrays.asList(new IntegerTypeHandler()));
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getInt(1)).thenReturn(1);
+    result.addRow(rs);
+
+    int[] column = (int[]) result.getColumn(0);
+    column[0] = 42;
+    assertNotSame(column, result.getColumn(0));
+    assertEquals(1, result.getValue(0, 0));
+  }
+
+  private static class PlusOneTypeHandler extends BaseTypeHandler<Integer> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, Integer parameter, JdbcType jdbcType) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Integer getNullableResult(ResultSet rs, String columnName) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Integer getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+      return rs.getInt(columnIndex) + 1;
+    }
+
+    @Override
+    public Integer getNullableResult(CallableStatement cs, int columnIndex) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+}
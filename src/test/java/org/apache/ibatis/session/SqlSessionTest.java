@@ -28,6 +28,10 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javassist.util.proxy.Proxy;
 
@@ -46,6 +50,7 @@ import org.apache.ibatis.domain.blog.mappers.AuthorMapper;
 import org.apache.ibatis.domain.blog.mappers.AuthorMapperWithMultipleHandlers;
 import org.apache.ibatis.domain.blog.mappers.AuthorMapperWithRowBounds;
 import org.apache.ibatis.domain.blog.mappers.BlogMapper;
+import org.apache.ibatis.exceptions.PersistenceException;
 import org.apache.ibatis.exceptions.TooManyResultsException;
 import org.apache.ibatis.executor.result.DefaultResultHandler;
 import org.apache.ibatis.io.Resources;
@@ -480,6 +485,58 @@ class SqlSessionTest extends BaseDataTest {
     assertTrue(first != second);
   }
 
+  @Test
+  void shouldRunQueriesInParallel() {
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      ParallelQueries parallel = new ParallelQueries(sqlMapper, executorService);
+      CompletableFuture<List<Author>> authors = parallel.selectList("org.apache.ibatis.domain.blog.mappers.AuthorMapper.selectAllAuthors");
+      CompletableFuture<Integer> count = parallel.selectOne("org.apache.ibatis.domain.blog.mappers.BlogMapper.selectCountOfPosts");
+      CompletableFuture<Author> author = parallel.mapper(AuthorMapper.class, mapper -> mapper.selectAuthor(101));
+      assertEquals(2, authors.join().size());
+      assertEquals(5, count.join().intValue());
+      assertEquals(101, author.join().getId());
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  void shouldShareSecondLevelCacheWithParallelQueries() {
+    List<Author> parallelAuthors = sqlMapper.parallel().<Author>selectList("org.apache.ibatis.builder.CachedAuthorMapper.selectAllAuthors").join();
+    int first = System.identityHashCode(parallelAuthors);
+    int second;
+    try (SqlSession session = sqlMapper.openSession()) {
+      List<Author> authors = session.selectList("org.apache.ibatis.builder.CachedAuthorMapper.selectAllAuthors");
+      second = System.identityHashCode(authors);
+    }
+    assertEquals(first, second);
+  }
+
+  @Test
+  void shouldCompleteParallelQueryExceptionally() {
+    CompletableFuture<Object> result = sqlMapper.parallel().selectOne("org.apache.ibatis.domain.blog.mappers.AuthorMapper.selectAllAuthors");
+    CompletionException e = Assertions.assertThrows(CompletionException.class, result::join);
+    assertTrue(e.getCause() instanceof TooManyResultsException);
+  }
+
+  @Test
+  void shouldRunParallelQueriesOnReadOnlyConnections() {
+    Author author = new Author(501, "parallel", "******", "parallel@apache.org", "Something...", null);
+    CompletableFuture<Integer> result = sqlMapper.parallel().submit(session -> session.insert("org.apache.ibatis.domain.blog.mappers.AuthorMapper.insertAuthor", author));
+    CompletionException e = Assertions.assertThrows(CompletionException.class, result::join);
+    assertTrue(e.getCause() instanceof PersistenceException);
+    try (SqlSession session = sqlMapper.openSession()) {
+      assertNull(session.selectOne("org.apache.ibatis.domain.blog.mappers.AuthorMapper.selectAuthor", 501));
+    }
+  }
+
+  @Test
+  void shouldRequireExecutorForParallelQueries() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new ParallelQueries(sqlMapper, null));
+    assertNotNull(sqlMapper.getConfiguration().getAsyncExecutorService());
+  }
+
   @Test
   void shouldSelectAuthorsUsingMapperClass() {
     try (SqlSession session = sqlMapper.openSession()) {
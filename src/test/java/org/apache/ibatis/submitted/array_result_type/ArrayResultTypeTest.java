@@ -21,6 +21,8 @@ import java.io.Reader;
 
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ColumnarResult;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
@@ -80,4 +82,54 @@ class ArrayResultTypeTest {
       assertEquals(1, ids[0]);
     }
   }
+
+  @Test
+  void shouldGetLongAndDoubleArrays() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertArrayEquals(new long[] { 1L, 2L }, mapper.getUserIdsLong());
+      assertArrayEquals(new double[] { 1d, 2d }, mapper.getUserIdsDouble());
+    }
+  }
+
+  @Test
+  void shouldWidenButNotNarrowPrimitiveArrayElements() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertArrayEquals(new long[] { 1L, 2L }, mapper.getUserIdsWidenedXml());
+      assertThrows(IllegalArgumentException.class, mapper::getUserIdsNarrowedXml);
+    }
+  }
+
+  @Test
+  void shouldGetSingleColumnArray() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertArrayEquals(new String[] { "User1", "User2" }, mapper.getUserNames());
+    }
+  }
+
+  @Test
+  void shouldGetColumnarResult() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      ColumnarResult result = mapper.getUsersColumnar();
+      assertEquals(2, result.getRowCount());
+      assertEquals(2, result.getColumnCount());
+      assertArrayEquals(new int[] { 1, 2 }, (int[]) result.getColumn("ID"));
+      assertArrayEquals(new Object[] { "User1", "User2" }, (Object[]) result.getColumn(1));
+      assertEquals("User2", result.getValue(result.getColumnIndex("name"), 1));
+      assertFalse(result.isNull(0, 0));
+    }
+  }
+
+  @Test
+  void shouldApplyRowBoundsToColumnarResult() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      ColumnarResult result = mapper.getUsersColumnarWithRowBounds(new RowBounds(1, 5));
+      assertEquals(1, result.getRowCount());
+      assertArrayEquals(new int[] { 2 }, (int[]) result.getColumn(0));
+    }
+  }
 }
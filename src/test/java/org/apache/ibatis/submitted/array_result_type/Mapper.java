@@ -16,6 +16,8 @@
 package org.apache.ibatis.submitted.array_result_type;
 
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.ColumnarResult;
+import org.apache.ibatis.session.RowBounds;
 
 public interface Mapper {
 
@@ -29,4 +31,23 @@ public interface Mapper {
 
   @Select("select id from users")
   int[] getUserIdsPrimitive();
+
+  @Select("select id from users order by id")
+  long[] getUserIdsLong();
+
+  @Select("select id from users order by id")
+  double[] getUserIdsDouble();
+
+  long[] getUserIdsWidenedXml();
+
+  int[] getUserIdsNarrowedXml();
+
+  @Select("select name from users order by id")
+  String[] getUserNames();
+
+  @Select("select id, name from users order by id")
+  ColumnarResult getUsersColumnar();
+
+  @Select("select id, name from users order by id")
+  ColumnarResult getUsersColumnarWithRowBounds(RowBounds rowBounds);
 }
@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.io.Reader;
+import java.util.Arrays;
 
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.io.Resources;
@@ -82,4 +83,21 @@ class ArrayTypeHandlerTest {
       assertNull(nicknameCount);
     }
   }
+
+  @Test
+  void shouldBindCollectionsAndArraysAsSingleParameter() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int id = 1; id <= 3; id++) {
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        mapper.insert(user);
+      }
+
+      assertEquals(2, mapper.getUserCountByIds(Arrays.asList(1, 3, 5)));
+      assertEquals(3, mapper.getUserCountByIds(new int[] { 1, 2, 3 }));
+      assertEquals(1, mapper.getUserCountByIds(new Integer[] { 2 }));
+    }
+  }
 }
@@ -15,12 +15,16 @@
  */
 package org.apache.ibatis.submitted.array_type_handler;
 
+import org.apache.ibatis.annotations.Param;
+
 public interface Mapper {
 
   void insert(User user);
 
   int getUserCount();
 
+  int getUserCountByIds(@Param("ids") Object ids);
+
   /**
    * HSQL returns NULL when asked for the cardinality of an array column with NULL value :-(
    */
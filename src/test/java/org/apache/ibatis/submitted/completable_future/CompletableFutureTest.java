@@ -0,0 +1,116 @@
+/**
+ *    Copyright 2009-2020 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.completable_future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.Reader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CompletableFutureTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+  private static ExecutorService executorService;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create an SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/completable_future/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    executorService = Executors.newFixedThreadPool(2);
+    sqlSessionFactory.getConfiguration().setAsyncExecutorService(executorService);
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+            "org/apache/ibatis/submitted/completable_future/CreateDB.sql");
+  }
+
+  @AfterAll
+  static void tearDown() {
+    executorService.shutdown();
+  }
+
+  @Test
+  void shouldSelectAsynchronously() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      CompletableFuture<User> user = mapper.getUser(1);
+      CompletableFuture<List<User>> users = mapper.getUsers();
+      CompletableFuture<Map<Integer, User>> usersById = mapper.getUsersById();
+      assertEquals("User1", user.join().getName());
+      assertEquals(2, users.join().size());
+      assertEquals("User2", users.join().get(1).getName());
+      assertEquals("User2", usersById.join().get(2).getName());
+      assertFalse(mapper.findUser(99).join().isPresent());
+    }
+  }
+
+  @Test
+  void shouldCompleteExceptionally() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      CompletionException e = assertThrows(CompletionException.class, () -> mapper.getMissingUser(1).join());
+      assertTrue(e.getCause() instanceof PersistenceException);
+    }
+  }
+
+  @Test
+  void shouldRejectFuturesThatCannotRunOnTheirOwnSession() {
+    sqlSessionFactory.getConfiguration().addMapper(InvalidMapper.class);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      InvalidMapper mapper = sqlSession.getMapper(InvalidMapper.class);
+      User user = new User();
+      user.setId(10);
+      user.setName("User10");
+      BindingException e = assertThrows(BindingException.class, () -> mapper.insertUser(user));
+      assertTrue(e.getMessage().contains("only SELECT"));
+      assertThrows(BindingException.class, mapper::getUserCursor);
+      assertThrows(BindingException.class, () -> mapper.getUsers(context -> { }));
+    }
+  }
+
+  @Test
+  void shouldRejectFuturesOnSessionsNotOpenedFromAFactory() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    JdbcTransaction transaction = new JdbcTransaction(configuration.getEnvironment().getDataSource(), null, false);
+    try (SqlSession sqlSession = new DefaultSqlSession(configuration, configuration.newExecutor(transaction))) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      BindingException e = assertThrows(BindingException.class, () -> mapper.getUser(1));
+      assertTrue(e.getMessage().contains("not opened from a SqlSessionFactory"));
+    }
+  }
+
+}
@@ -16,10 +16,15 @@
 package org.apache.ibatis.submitted.cursor_nested;
 
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.ExecutorException;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
@@ -105,4 +110,78 @@ class CursorNestedTest {
       Assertions.assertTrue(usersCursor.isConsumed());
     }
   }
+
+  @Test
+  void shouldStreamCompleteUsersWithNestedResultStreaming() {
+    sqlSessionFactory.getConfiguration().setNestedResultStreaming(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> usersCursor = sqlSession.selectCursor("getAllUsersWithoutResultOrdered");
+      Iterator<User> iterator = usersCursor.iterator();
+
+      User user = iterator.next();
+      Assertions.assertEquals(2, user.getGroups().size());
+      Assertions.assertEquals(3, user.getRoles().size());
+
+      user = iterator.next();
+      Assertions.assertEquals(1, user.getGroups().size());
+      Assertions.assertEquals(3, user.getRoles().size());
+
+      user = iterator.next();
+      Assertions.assertEquals(3, user.getGroups().size());
+      Assertions.assertEquals(1, user.getRoles().size());
+
+      user = iterator.next();
+      Assertions.assertEquals(2, user.getGroups().size());
+      Assertions.assertEquals(2, user.getRoles().size());
+
+      Assertions.assertFalse(iterator.hasNext());
+    } finally {
+      sqlSessionFactory.getConfiguration().setNestedResultStreaming(false);
+    }
+  }
+
+  @Test
+  void shouldHandCompleteUsersToResultHandlerWithNestedResultStreaming() {
+    sqlSessionFactory.getConfiguration().setNestedResultStreaming(true);
+    sqlSessionFactory.getConfiguration().setSafeResultHandlerEnabled(false);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Integer> groupCounts = new ArrayList<>();
+      sqlSession.select("getAllUsersWithoutResultOrdered",
+          context -> groupCounts.add(((User) context.getResultObject()).getGroups().size()));
+      Assertions.assertEquals(4, groupCounts.size());
+      Assertions.assertEquals(2, groupCounts.get(0));
+      Assertions.assertEquals(1, groupCounts.get(1));
+      Assertions.assertEquals(3, groupCounts.get(2));
+      Assertions.assertEquals(2, groupCounts.get(3));
+    } finally {
+      sqlSessionFactory.getConfiguration().setNestedResultStreaming(false);
+      sqlSessionFactory.getConfiguration().setSafeResultHandlerEnabled(true);
+    }
+  }
+
+  @Test
+  void shouldKeepSafeResultHandlerCheckWithNestedResultStreaming() {
+    sqlSessionFactory.getConfiguration().setNestedResultStreaming(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersistenceException e = Assertions.assertThrows(PersistenceException.class,
+          () -> sqlSession.select("getAllUsersWithoutResultOrdered", context -> { }));
+      Assertions.assertTrue(e.getCause() instanceof ExecutorException);
+    } finally {
+      sqlSessionFactory.getConfiguration().setNestedResultStreaming(false);
+    }
+  }
+
+  @Test
+  void shouldTrustGroupingOfRowsWithNestedResultStreaming() {
+    sqlSessionFactory.getConfiguration().setNestedResultStreaming(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> usersCursor = sqlSession.selectCursor("getAllUsersUngrouped");
+      List<Integer> ids = new ArrayList<>();
+      usersCursor.forEach(user -> ids.add(user.getId()));
+      // rows are not grouped by the user id, so a user whose rows are apart is streamed once per group of rows
+      Assertions.assertTrue(ids.size() > new HashSet<>(ids).size());
+    } finally {
+      sqlSessionFactory.getConfiguration().setNestedResultStreaming(false);
+    }
+  }
 }
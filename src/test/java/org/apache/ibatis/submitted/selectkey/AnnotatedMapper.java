@@ -15,11 +15,13 @@
  */
 package org.apache.ibatis.submitted.selectkey;
 
+import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.InsertProvider;
 import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.SelectKey;
 import org.apache.ibatis.annotations.Update;
 
@@ -72,4 +74,23 @@ public interface AnnotatedMapper {
   int updateTable2WithSelectKeyWithKeyObject(Name name);
 
   int updateTable2WithSelectKeyWithKeyObjectXml(Name name);
+
+  @Insert("insert into table2 (name) values(#{name})")
+  @SelectKey(statement = "select id from table2 where name = #{name}", keyProperty = "nameId", before = false, resultType = int.class)
+  int insertTable2WithSelectKeyByName(Name name);
+
+  @Insert({ "<script>insert into table2 (name) values",
+      "<foreach collection='list' item='item' separator=','>(#{item.name})</foreach></script>" })
+  @SelectKey(statement = { "<script>select id from table2 where name in",
+      "<foreach collection='list' item='item' open='(' separator=',' close=')'>#{item.name}</foreach>",
+      "order by id</script>" }, keyProperty = "nameId", before = false, resultType = int.class)
+  int insertTable2Rows(List<Name> names);
+
+  @Insert("insert into table2 (name) values(#{name})")
+  @Options(useGeneratedKeys = true, keyProperty = "nameId", keyColumn = "ID", bulkSize = 2)
+  int insertTable2InBulk(List<Name> names);
+
+  @Insert("insert into table2 (name) values(#{name})")
+  @Options(useGeneratedKeys = true, keyProperty = "names.nameId", keyColumn = "ID", bulkSize = 2)
+  int insertTable2InBulkWithParamName(@Param("names") List<Name> names);
 }
@@ -18,12 +18,15 @@ package org.apache.ibatis.submitted.selectkey;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.Reader;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.exceptions.PersistenceException;
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
@@ -340,4 +343,82 @@ class SelectKeyTest {
           () -> sqlSession.insert("org.apache.ibatis.submitted.selectkey.Table2.insertWrongKeyProperty", name));
     }
   }
+
+  @Test
+  void testSelectKeyInBatch() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      AnnotatedMapper mapper = sqlSession.getMapper(AnnotatedMapper.class);
+      List<Name> names = Arrays.asList(newName("fred"), newName("wilma"), newName("barney"));
+      for (Name name : names) {
+        mapper.insertTable2WithSelectKeyByName(name);
+      }
+      sqlSession.flushStatements();
+      assertEquals(22, names.get(0).getNameId());
+      assertEquals(23, names.get(1).getNameId());
+      assertEquals(24, names.get(2).getNameId());
+    }
+  }
+
+  @Test
+  void testSelectKeyBeforeInBatchRunsForEveryInsert() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      AnnotatedMapper mapper = sqlSession.getMapper(AnnotatedMapper.class);
+      Name fred = newName("fred");
+      mapper.insertTable3(fred);
+      // the key is selected when the insert is added to the batch, not when the batch is flushed
+      assertEquals(33, fred.getNameId());
+      Name wilma = newName("wilma");
+      mapper.insertTable3(wilma);
+      assertEquals(34, wilma.getNameId());
+      sqlSession.flushStatements();
+      assertEquals(33, fred.getNameId());
+      assertEquals(34, wilma.getNameId());
+    }
+  }
+
+  @Test
+  void testSelectKeyForMultiRowInsert() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      AnnotatedMapper mapper = sqlSession.getMapper(AnnotatedMapper.class);
+      List<Name> names = Arrays.asList(newName("fred"), newName("wilma"), newName("barney"));
+      int rows = mapper.insertTable2Rows(names);
+      assertEquals(3, rows);
+      assertEquals(22, names.get(0).getNameId());
+      assertEquals(23, names.get(1).getNameId());
+      assertEquals(24, names.get(2).getNameId());
+    }
+  }
+
+  @Test
+  void testBulkInsertWithGeneratedKeys() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      AnnotatedMapper mapper = sqlSession.getMapper(AnnotatedMapper.class);
+      List<Name> names = Arrays.asList(newName("fred"), newName("wilma"), newName("barney"), newName("betty"),
+          newName("pebbles"));
+      int rows = mapper.insertTable2InBulk(names);
+      assertEquals(5, rows);
+      for (int i = 0; i < names.size(); i++) {
+        assertEquals(22 + i, names.get(i).getNameId());
+      }
+    }
+  }
+
+  @Test
+  void testBulkInsertKeepsParameterNames() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      AnnotatedMapper mapper = sqlSession.getMapper(AnnotatedMapper.class);
+      List<Name> names = Arrays.asList(newName("fred"), newName("wilma"), newName("barney"));
+      int rows = mapper.insertTable2InBulkWithParamName(names);
+      assertEquals(3, rows);
+      for (int i = 0; i < names.size(); i++) {
+        assertEquals(22 + i, names.get(i).getNameId());
+      }
+    }
+  }
+
+  private Name newName(String value) {
+    Name name = new Name();
+    name.setName(value);
+    return name;
+  }
 }
@@ -18,6 +18,7 @@ package org.apache.ibatis.type;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -27,6 +28,8 @@ import static org.mockito.Mockito.when;
 import java.sql.Array;
 import java.sql.Connection;
 import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -58,6 +61,57 @@ class ArrayTypeHandlerTest extends BaseTypeHandlerTest {
     verify(array).free();
   }
 
+  @Test
+  public void shouldSetCollectionParameter() throws Exception {
+    Connection connection = mock(Connection.class);
+    when(ps.getConnection()).thenReturn(connection);
+
+    Array array = mock(Array.class);
+    when(connection.createArrayOf(anyString(), any(Object[].class))).thenReturn(array);
+
+    TYPE_HANDLER.setParameter(ps, 1, Arrays.asList(null, 1, 2), JdbcType.ARRAY);
+    verify(connection).createArrayOf("INTEGER", new Object[] { null, 1, 2 });
+    verify(ps).setArray(1, array);
+    verify(array).free();
+  }
+
+  @Test
+  public void shouldRejectEmptyCollectionWithoutComponentTypeName() throws Exception {
+    TypeException e = assertThrows(TypeException.class,
+        () -> TYPE_HANDLER.setParameter(ps, 1, Collections.emptyList(), JdbcType.ARRAY));
+    assertTrue(e.getMessage().contains("jdbcTypeName"));
+
+    assertThrows(TypeException.class, () -> TYPE_HANDLER.setParameter(ps, 1, Arrays.asList(null, null), JdbcType.ARRAY));
+  }
+
+  @Test
+  public void shouldSetEmptyCollectionWithComponentTypeName() throws Exception {
+    Connection connection = mock(Connection.class);
+    when(ps.getConnection()).thenReturn(connection);
+
+    Array array = mock(Array.class);
+    when(connection.createArrayOf(anyString(), any(Object[].class))).thenReturn(array);
+
+    new ArrayTypeHandler("INTEGER").setParameter(ps, 1, Collections.emptyList(), JdbcType.ARRAY);
+    verify(connection).createArrayOf("INTEGER", new Object[0]);
+    verify(ps).setArray(1, array);
+    verify(array).free();
+  }
+
+  @Test
+  public void shouldSetPrimitiveArrayParameter() throws Exception {
+    Connection connection = mock(Connection.class);
+    when(ps.getConnection()).thenReturn(connection);
+
+    Array array = mock(Array.class);
+    when(connection.createArrayOf(anyString(), any(Object[].class))).thenReturn(array);
+
+    TYPE_HANDLER.setParameter(ps, 1, new long[] { 1L, 2L }, JdbcType.ARRAY);
+    verify(connection).createArrayOf("BIGINT", new Object[] { 1L, 2L });
+    verify(ps).setArray(1, array);
+    verify(array).free();
+  }
+
   @Test
   public void shouldSetNullParameter() throws Exception {
     TYPE_HANDLER.setParameter(ps, 1, null, JdbcType.ARRAY);
@@ -135,6 +135,14 @@ class TypeHandlerRegistryTest {
     typeHandlerRegistry.register(Integer.class, IntegerTypeHandler.class);
   }
 
+  @Test
+  void shouldReturnArrayTypeHandlerForArraysAndCollectionsBoundAsArray() {
+    assertSame(ArrayTypeHandler.class, typeHandlerRegistry.getTypeHandler(String[].class, JdbcType.ARRAY).getClass());
+    assertSame(ArrayTypeHandler.class, typeHandlerRegistry.getTypeHandler(int[].class, JdbcType.ARRAY).getClass());
+    assertSame(ArrayTypeHandler.class, typeHandlerRegistry.getTypeHandler(List.class, JdbcType.ARRAY).getClass());
+    assertNull(typeHandlerRegistry.getTypeHandler(List.class, JdbcType.VARCHAR));
+  }
+
   @Test
   void shouldReturnHandlerForSuperclassIfRegistered() {
     class MyDate extends Date {